@@ -0,0 +1,35 @@
+/**
+ * Scan kernels over one int column, used by ProductTable.
+ *
+ * Every method looks at rows [0, n) and treats a row as matching when lo &lt;= column[row] &lt;= hi.
+ * ScalarKernels is the plain-loop version; VectorKernels does the same work with the
+ * jdk.incubator.vector API (compiled separately, from vector/) and is only used when that
+ * module is available and the class is on the class path.
+ */
+interface ColumnKernels {
+
+    /** Number of matching rows. */
+    int count(int[] column, int n, int lo, int hi);
+
+    /** Writes the indexes of matching rows to out (which must hold n ints) and returns how many there are. */
+    int select(int[] column, int n, int lo, int hi, int[] out);
+
+    /** For every matching row, adds one to counts[codes[row]]. */
+    void countByCode(int[] column, int n, int lo, int hi, int[] codes, int[] counts);
+
+    /** Sum of column[row] over the matching rows. */
+    long sum(int[] column, int n, int lo, int hi);
+
+    static ColumnKernels best() {
+        if (!"scalar".equals(System.getProperty("columnKernels"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded by name so this class still links when the module is absent.
+                return (ColumnKernels) Class.forName("VectorKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar loops.
+            }
+        }
+        return new ScalarKernels();
+    }
+}
@@ -37,5 +37,15 @@ public class Main {
 //        System.out.println("Is car and audi equal? " + car.equals(audi));
 //        System.out.println("Is car and copyCar equal? " + car.equals(copyCar));
 //        System.out.println("Is bmw and Copybmw equal? " + bmw.equals(copyBMW));
+
+        // Columnar storage: the same rows as int columns, scanned without touching Product objects
+        ProductTable table = new ProductTable();
+        table.add(car);
+        table.add(audi);
+        table.add(103, "Q7", "Audi", 2021);
+        table.add(104, "i4", "BMW", 2022);
+        System.out.println("Kernels: " + ProductTable.kernels());
+        System.out.println("Rows with make > 2019: " + table.countWhereMakeBetween(2020, ProductTable.MAX));
+        System.out.println("Count by brand where make > 2019: " + table.countByBrandWhereMakeBetween(2020, ProductTable.MAX));
     }
 }
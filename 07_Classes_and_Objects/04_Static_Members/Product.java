@@ -1,18 +1,41 @@
+import java.lang.ref.WeakReference;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 
-public class Product {
+public final class Product {
 
-    public int id;
-    public String name;
-    public String brand;
-    public int make;
+    // Canonical instances handed out by of(); weakly held so unused products can be collected.
+    private static final Map<Product, WeakReference<Product>> INTERNED = new WeakHashMap<>();
+
+    public final int id;
+    public final String name;
+    public final String brand;
+    public final int make;
+    private final int hash;
 
     public Product(int id, String name, String brand, int make ){
         this.id = id;
         this.name = name;
         this.brand = brand;
         this.make = make;
+        // Same value as Objects.hash(id, name, brand, make), without the Object[] and the boxing.
+        int h = 31 + id;
+        h = 31 * h + Objects.hashCode(name);
+        h = 31 * h + Objects.hashCode(brand);
+        this.hash = 31 * h + make;
+    }
 
+    /** Returns one shared instance for all equal products, so equals() can stop at ==. */
+    public static Product of(int id, String name, String brand, int make) {
+        Product candidate = new Product(id, name, brand, make);
+        synchronized (INTERNED) {
+            WeakReference<Product> ref = INTERNED.get(candidate);
+            Product existing = (ref == null) ? null : ref.get();
+            if (existing != null) return existing;
+            INTERNED.put(candidate, new WeakReference<>(candidate));
+            return candidate;
+        }
     }
 
     public void getDetail(){
@@ -21,22 +44,22 @@ public class Product {
 
     @Override
     public boolean equals(Object other){
-        if (other == null){
-            return false;
-        }
-
         if (other == this){
             return true;
         }
 
+        if (!(other instanceof Product)){
+            return false;
+        }
+
         Product product = (Product) other;
 
-        return ((this.id==product.id) && (Objects.equals(this.name, product.name)) && (Objects.equals(this.brand, product.brand)) && (this.make==product.make));
+        return ((this.hash == product.hash) && (this.id==product.id) && (Objects.equals(this.name, product.name)) && (Objects.equals(this.brand, product.brand)) && (this.make==product.make));
     }
 
     @Override
     public int hashCode(){
-        return Objects.hash(id, name, brand, make);
+        return hash;
     }
 
     @Override
@@ -0,0 +1,133 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented (struct-of-arrays) storage for Product rows.
+ *
+ * - id and make are plain int[] columns.
+ * - name and brand are dictionary-encoded: each distinct string is stored once and the
+ *   column holds its int code, so "group by brand" is a counting array indexed by code.
+ * - Filters and aggregates scan one int[] at a time through ColumnKernels, which uses
+ *   SIMD (jdk.incubator.vector) when available and plain loops otherwise.
+ *
+ * A scan such as countByBrand(2020, MAX) reads two int columns sequentially and never
+ * touches a Product object. Rows are appended only; row(i) rebuilds a Product on demand.
+ * Not thread-safe.
+ */
+public final class ProductTable {
+
+    public static final int MIN = Integer.MIN_VALUE;
+    public static final int MAX = Integer.MAX_VALUE;
+
+    private static final ColumnKernels KERNELS = ColumnKernels.best();
+
+    private int[] ids = new int[16];
+    private int[] makes = new int[16];
+    private final StringColumn names = new StringColumn();
+    private final StringColumn brands = new StringColumn();
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    /** Which kernel implementation the scans use, e.g. "vector (8 lanes)" or "scalar". */
+    public static String kernels() {
+        return KERNELS.toString();
+    }
+
+    public void add(Product product) {
+        add(product.id, product.name, product.brand, product.make);
+    }
+
+    public void add(int id, String name, String brand, int make) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            makes = Arrays.copyOf(makes, capacity);
+        }
+        ids[size] = id;
+        makes[size] = make;
+        names.add(size, name);
+        brands.add(size, brand);
+        size++;
+    }
+
+    public Product row(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        return new Product(ids[row], names.get(row), brands.get(row), makes[row]);
+    }
+
+    /** Number of rows with from &lt;= make &lt;= to. */
+    public int countWhereMakeBetween(int from, int to) {
+        return KERNELS.count(makes, size, from, to);
+    }
+
+    /** Row numbers with from &lt;= make &lt;= to, in row order. */
+    public int[] rowsWhereMakeBetween(int from, int to) {
+        int[] out = new int[size];
+        int found = KERNELS.select(makes, size, from, to, out);
+        return Arrays.copyOf(out, found);
+    }
+
+    /** Sum of make over the rows with from &lt;= make &lt;= to (together with the count, gives the average). */
+    public long sumMakeBetween(int from, int to) {
+        return KERNELS.sum(makes, size, from, to);
+    }
+
+    /** Number of rows per brand among those with from &lt;= make &lt;= to; brands without rows are left out. */
+    public Map<String, Integer> countByBrandWhereMakeBetween(int from, int to) {
+        int[] counts = new int[brands.distinct()];
+        KERNELS.countByCode(makes, size, from, to, brands.codes, counts);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] != 0) result.put(brands.decode(code), counts[code]);
+        }
+        return result;
+    }
+
+    /** Number of rows with this brand, from the code column alone; 0 if the brand never occurs. */
+    public int countWhereBrand(String brand) {
+        int code = brands.codeOf(brand);
+        return (code < 0) ? 0 : KERNELS.count(brands.codes, size, code, code);
+    }
+
+    /** Dictionary-encoded string column: a code per row plus one copy of each distinct value. */
+    private static final class StringColumn {
+        private int[] codes = new int[16];
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        void add(int row, String value) {
+            if (row == codes.length) codes = Arrays.copyOf(codes, row * 2);
+            Integer code = dictionary.get(value);
+            if (code == null) {
+                code = values.size();
+                dictionary.put(value, code);
+                values.add(value);
+            }
+            codes[row] = code;
+        }
+
+        String get(int row) {
+            return values.get(codes[row]);
+        }
+
+        int codeOf(String value) {
+            Integer code = dictionary.get(value);
+            return (code == null) ? -1 : code;
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        int distinct() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/** Plain loops; the JIT may still auto-vectorize count and sum. */
+final class ScalarKernels implements ColumnKernels {
+
+    @Override
+    public int count(int[] column, int n, int lo, int hi) {
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int v = column[i];
+            if (v >= lo && v <= hi) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int select(int[] column, int n, int lo, int hi, int[] out) {
+        int found = 0;
+        for (int i = 0; i < n; i++) {
+            int v = column[i];
+            if (v >= lo && v <= hi) out[found++] = i;
+        }
+        return found;
+    }
+
+    @Override
+    public void countByCode(int[] column, int n, int lo, int hi, int[] codes, int[] counts) {
+        for (int i = 0; i < n; i++) {
+            int v = column[i];
+            if (v >= lo && v <= hi) counts[codes[i]]++;
+        }
+    }
+
+    @Override
+    public long sum(int[] column, int n, int lo, int hi) {
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            int v = column[i];
+            if (v >= lo && v <= hi) sum += v;
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
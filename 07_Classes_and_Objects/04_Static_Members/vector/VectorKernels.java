@@ -0,0 +1,102 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels on the jdk.incubator.vector API: each step compares a full vector of the column
+ * against lo and hi and works on the resulting lane mask. The tail shorter than one vector is
+ * finished with scalar code.
+ *
+ * Needs --add-modules jdk.incubator.vector both when compiling and when running, so it lives in
+ * its own directory: plain javac *.java builds the chapter without it, and ColumnKernels.best()
+ * then uses ScalarKernels.
+ */
+final class VectorKernels implements ColumnKernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    // Same vector size with long lanes: each int vector widens into two of these.
+    private static final VectorSpecies<Long> LONGS = SPECIES.withLanes(long.class);
+
+    @Override
+    public int count(int[] column, int n, int lo, int hi) {
+        int upper = SPECIES.loopBound(n);
+        int count = 0;
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            count += matches(column, i, lo, hi).trueCount();
+        }
+        for (int i = upper; i < n; i++) {
+            int v = column[i];
+            if (v >= lo && v <= hi) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int select(int[] column, int n, int lo, int hi, int[] out) {
+        int upper = SPECIES.loopBound(n);
+        int found = 0;
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            long bits = matches(column, i, lo, hi).toLong();
+            while (bits != 0) {
+                out[found++] = i + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        for (int i = upper; i < n; i++) {
+            int v = column[i];
+            if (v >= lo && v <= hi) out[found++] = i;
+        }
+        return found;
+    }
+
+    @Override
+    public void countByCode(int[] column, int n, int lo, int hi, int[] codes, int[] counts) {
+        int upper = SPECIES.loopBound(n);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            // The filter is vectorized; the histogram update is a scatter, so it stays scalar.
+            long bits = matches(column, i, lo, hi).toLong();
+            while (bits != 0) {
+                counts[codes[i + Long.numberOfTrailingZeros(bits)]]++;
+                bits &= bits - 1;
+            }
+        }
+        for (int i = upper; i < n; i++) {
+            int v = column[i];
+            if (v >= lo && v <= hi) counts[codes[i]]++;
+        }
+    }
+
+    @Override
+    public long sum(int[] column, int n, int lo, int hi) {
+        int upper = SPECIES.loopBound(n);
+        LongVector acc = LongVector.zero(LONGS);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            IntVector v = IntVector.fromArray(SPECIES, column, i);
+            IntVector matching = IntVector.zero(SPECIES).blend(v, within(v, lo, hi));
+            // Widen the lanes to long before adding: int lanes would overflow on large values.
+            acc = acc.add((LongVector) matching.convertShape(VectorOperators.I2L, LONGS, 0))
+                    .add((LongVector) matching.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (int i = upper; i < n; i++) {
+            int v = column[i];
+            if (v >= lo && v <= hi) sum += v;
+        }
+        return sum;
+    }
+
+    private static VectorMask<Integer> matches(int[] column, int offset, int lo, int hi) {
+        return within(IntVector.fromArray(SPECIES, column, offset), lo, hi);
+    }
+
+    private static VectorMask<Integer> within(IntVector v, int lo, int hi) {
+        return v.compare(VectorOperators.GE, lo).and(v.compare(VectorOperators.LE, hi));
+    }
+
+    @Override
+    public String toString() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+}
@@ -45,5 +45,23 @@ public class ArrayListDemo {
 
         System.out.println("USD?: " + newArray.contains("USD"));
 
+        // Typed alternative: numbers in a primitive IntList need no casts and no boxing
+        IntList amounts = new IntList();
+        amounts.addAll(new int[] { 12, 23 });
+        System.out.println("Typed result " + (amounts.get(0) + amounts.get(1)) + ", sum " + amounts.sum() + ", max " + amounts.max());
+
+        // Mixed records: one primitive column per field instead of one raw list of Objects
+        TupleList rates = TupleList.newBuilder().stringField("currency").intField("amount").booleanField("active").build();
+        String[] currencies = { "USD", "INR", "JPY" };
+        int[] values = { 12, 23, 7 };
+        for (int i = 0; i < currencies.length; i++) {
+            int row = rates.addRow();
+            rates.setString(row, 0, currencies[i]);
+            rates.setInt(row, 1, values[i]);
+            rates.setBoolean(row, 2, values[i] > 10);
+        }
+        System.out.println("Rates: " + rates);
+        System.out.println("Total amount " + rates.intColumn(1).sum() + ", active " + rates.countTrue(2));
+
     }
 }
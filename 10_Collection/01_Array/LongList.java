@@ -0,0 +1,158 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Growable list of primitive longs: what List&lt;Long&gt; does, without the boxing.
+ *
+ * - Elements live in one long[], 8 bytes each, instead of a reference plus a 16-byte Long.
+ * - addAll(long[]) copies a whole array with one System.arraycopy.
+ * - get, forEach and iterator() hand out plain longs; sum, min and max are tight loops the
+ *   JIT can unroll and vectorize.
+ *
+ * Like ArrayList this class is not thread-safe.
+ */
+public class LongList {
+
+    private long[] elements;
+    private int size;
+
+    public LongList() {
+        this(10);
+    }
+
+    public LongList(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        this.elements = new long[initialCapacity];
+    }
+
+    public static LongList of(long... values) {
+        LongList list = new LongList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(long value) {
+        if (size == elements.length) grow(size + 1);
+        elements[size++] = value;
+    }
+
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /** Appends values[from] up to values[to - 1]. */
+    public void addAll(long[] values, int from, int to) {
+        int count = to - from;
+        if (from < 0 || count < 0 || to > values.length) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + values.length);
+        }
+        if (size + count > elements.length) grow(size + count);
+        System.arraycopy(values, from, elements, size, count);
+        size += count;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public long set(int index, long value) {
+        checkIndex(index);
+        long old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    /** Removes and returns the last element. */
+    public long removeLast() {
+        if (size == 0) throw new NoSuchElementException("list is empty");
+        return elements[--size];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += elements[i];
+        }
+        return sum;
+    }
+
+    public long min() {
+        if (size == 0) throw new NoSuchElementException("list is empty");
+        long min = elements[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, elements[i]);
+        }
+        return min;
+    }
+
+    public long max() {
+        if (size == 0) throw new NoSuchElementException("list is empty");
+        long max = elements[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, elements[i]);
+        }
+        return max;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /** Iterator whose nextLong() returns unboxed values; next() would box, so prefer nextLong(). */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (next >= size) throw new NoSuchElementException();
+                return elements[next++];
+            }
+        };
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 1);
+        elements = Arrays.copyOf(elements, capacity);
+    }
+}
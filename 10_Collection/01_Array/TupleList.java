@@ -0,0 +1,234 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List of records with a fixed set of typed fields, stored column by column.
+ *
+ * Instead of one raw List holding Strings, boxed Integers and Booleans side by side, each field
+ * gets its own column: int fields an IntList, long fields a LongList, double fields a
+ * DoubleList, boolean fields a BitSet and String fields a List&lt;String&gt;. Reading a number
+ * needs no cast and no unboxing, and a column can be summed or scanned on its own.
+ *
+ * Example:
+ * <pre>
+ * TupleList rates = TupleList.newBuilder().stringField("currency").intField("amount").build();
+ * int row = rates.addRow();
+ * rates.setString(row, 0, "EUR");
+ * rates.setInt(row, 1, 12);
+ * long total = rates.intColumn(1).sum();
+ * </pre>
+ *
+ * Fields are addressed by position (fieldIndex(name) looks one up). Accessing a field with the
+ * wrong type throws IllegalArgumentException. Like ArrayList this class is not thread-safe.
+ */
+public class TupleList {
+
+    public enum Type { INT, LONG, DOUBLE, BOOLEAN, STRING }
+
+    private final String[] names;
+    private final Type[] types;
+    private final Object[] columns;
+    private int size;
+
+    private TupleList(List<String> names, List<Type> types) {
+        this.names = names.toArray(new String[0]);
+        this.types = types.toArray(new Type[0]);
+        this.columns = new Object[this.types.length];
+        for (int f = 0; f < columns.length; f++) {
+            switch (this.types[f]) {
+                case INT: columns[f] = new IntList(); break;
+                case LONG: columns[f] = new LongList(); break;
+                case DOUBLE: columns[f] = new DoubleList(); break;
+                case BOOLEAN: columns[f] = new BitSet(); break;
+                default: columns[f] = new ArrayList<String>(); break;
+            }
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int fieldCount() {
+        return types.length;
+    }
+
+    public String fieldName(int field) {
+        return names[field];
+    }
+
+    public Type fieldType(int field) {
+        return types[field];
+    }
+
+    /** Position of the named field, or -1. */
+    public int fieldIndex(String name) {
+        for (int f = 0; f < names.length; f++) {
+            if (names[f].equals(name)) return f;
+        }
+        return -1;
+    }
+
+    /** Appends a row with every field at its default (0, false or null) and returns its index. */
+    @SuppressWarnings("unchecked")
+    public int addRow() {
+        for (int f = 0; f < columns.length; f++) {
+            switch (types[f]) {
+                case INT: ((IntList) columns[f]).add(0); break;
+                case LONG: ((LongList) columns[f]).add(0L); break;
+                case DOUBLE: ((DoubleList) columns[f]).add(0.0); break;
+                case BOOLEAN: break;
+                default: ((List<String>) columns[f]).add(null); break;
+            }
+        }
+        return size++;
+    }
+
+    public int getInt(int row, int field) {
+        return intColumn(field).get(checkRow(row));
+    }
+
+    public void setInt(int row, int field, int value) {
+        intColumn(field).set(checkRow(row), value);
+    }
+
+    public long getLong(int row, int field) {
+        return longColumn(field).get(checkRow(row));
+    }
+
+    public void setLong(int row, int field, long value) {
+        longColumn(field).set(checkRow(row), value);
+    }
+
+    public double getDouble(int row, int field) {
+        return doubleColumn(field).get(checkRow(row));
+    }
+
+    public void setDouble(int row, int field, double value) {
+        doubleColumn(field).set(checkRow(row), value);
+    }
+
+    public boolean getBoolean(int row, int field) {
+        return ((BitSet) column(field, Type.BOOLEAN)).get(checkRow(row));
+    }
+
+    public void setBoolean(int row, int field, boolean value) {
+        ((BitSet) column(field, Type.BOOLEAN)).set(checkRow(row), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public String getString(int row, int field) {
+        return ((List<String>) column(field, Type.STRING)).get(checkRow(row));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void setString(int row, int field, String value) {
+        ((List<String>) column(field, Type.STRING)).set(checkRow(row), value);
+    }
+
+    /**
+     * The int column itself, for bulk reads such as sum() or forEach(). Changing values through
+     * it is fine; adding or removing elements would break the row alignment.
+     */
+    public IntList intColumn(int field) {
+        return (IntList) column(field, Type.INT);
+    }
+
+    /** The long column itself; same rules as intColumn. */
+    public LongList longColumn(int field) {
+        return (LongList) column(field, Type.LONG);
+    }
+
+    /** The double column itself; same rules as intColumn. */
+    public DoubleList doubleColumn(int field) {
+        return (DoubleList) column(field, Type.DOUBLE);
+    }
+
+    /** Number of rows whose boolean field is true. */
+    public int countTrue(int field) {
+        return ((BitSet) column(field, Type.BOOLEAN)).cardinality();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int row = 0; row < size; row++) {
+            if (row > 0) sb.append(", ");
+            sb.append('(');
+            for (int f = 0; f < types.length; f++) {
+                if (f > 0) sb.append(", ");
+                sb.append(names[f]).append('=').append(valueAt(row, f));
+            }
+            sb.append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+    private Object valueAt(int row, int field) {
+        switch (types[field]) {
+            case INT: return getInt(row, field);
+            case LONG: return getLong(row, field);
+            case DOUBLE: return getDouble(row, field);
+            case BOOLEAN: return getBoolean(row, field);
+            default: return getString(row, field);
+        }
+    }
+
+    private Object column(int field, Type expected) {
+        if (field < 0 || field >= types.length) throw new IndexOutOfBoundsException("field " + field + ", fields " + types.length);
+        if (types[field] != expected) {
+            throw new IllegalArgumentException("field " + names[field] + " is " + types[field] + ", not " + expected);
+        }
+        return columns[field];
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + size);
+        return row;
+    }
+
+    public static final class Builder {
+        private final Map<String, Type> fields = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder intField(String name) {
+            return field(name, Type.INT);
+        }
+
+        public Builder longField(String name) {
+            return field(name, Type.LONG);
+        }
+
+        public Builder doubleField(String name) {
+            return field(name, Type.DOUBLE);
+        }
+
+        public Builder booleanField(String name) {
+            return field(name, Type.BOOLEAN);
+        }
+
+        public Builder stringField(String name) {
+            return field(name, Type.STRING);
+        }
+
+        public TupleList build() {
+            if (fields.isEmpty()) throw new IllegalStateException("at least one field is required");
+            return new TupleList(new ArrayList<>(fields.keySet()), new ArrayList<>(fields.values()));
+        }
+
+        private Builder field(String name, Type type) {
+            if (fields.containsKey(name)) throw new IllegalArgumentException("duplicate field: " + name);
+            fields.put(name, type);
+            return this;
+        }
+    }
+}
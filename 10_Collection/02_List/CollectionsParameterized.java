@@ -25,7 +25,8 @@ public class CollectionsParameterized {
 //        System.out.println("Content: " + currency);
 //        System.out.println("Size of list: " + currency.size());
 
-        List<String> cities = new ArrayList();
+        // IndexedList answers indexOf, lastIndexOf and containsAll from a hash index instead of scanning.
+        List<String> cities = new IndexedList<>();
         List<String> cities2 = new ArrayList();
 
         cities2.add("Mumbai");
@@ -54,5 +55,11 @@ public class CollectionsParameterized {
         // checking if cities2 values are in the cities list.
         System.out.println("Content of cities2 are there in cities? " + cities.containsAll(cities2));
 
+        // TieredList: inserting near the front and removing the head cost O(sqrt n) instead of O(n)
+        List<String> queue = new TieredList<>(cities2);
+        queue.add(1, "Seattle");
+        queue.remove(0);
+        System.out.println("Queue content: " + queue);
+
     }
 }
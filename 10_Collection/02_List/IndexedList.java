@@ -0,0 +1,163 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * ArrayList-backed List that also keeps a hash index from each value to the positions it occupies.
+ *
+ * - contains, indexOf and lastIndexOf are one HashMap lookup instead of a scan: O(1).
+ * - containsAll(c) is one lookup per element of c: O(m) instead of O(n * m).
+ * - Duplicates, nulls and the usual List semantics (equals, hashCode, iterators, subList) are kept.
+ *
+ * Appending and removing the last element update the index in O(1). Inserting or removing in
+ * the middle moves every later element anyway, and their positions in the index are moved
+ * along with them, so those stay O(n) as in ArrayList. Memory is one extra HashMap entry and
+ * a small int[] per distinct value. Like ArrayList this class is not thread-safe.
+ */
+public class IndexedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> elements;
+    private final Map<Object, Positions> index;
+
+    public IndexedList() {
+        this.elements = new ArrayList<>();
+        this.index = new HashMap<>();
+    }
+
+    public IndexedList(Collection<? extends E> source) {
+        this.elements = new ArrayList<>(source.size());
+        this.index = new HashMap<>();
+        addAll(source);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public E get(int i) {
+        return elements.get(i);
+    }
+
+    @Override
+    public boolean add(E e) {
+        int position = elements.size();
+        elements.add(e);
+        index.computeIfAbsent(e, k -> new Positions()).append(position);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int i, E e) {
+        int size = elements.size();
+        if (i == size) {
+            add(e);
+            return;
+        }
+        if (i < 0 || i > size) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        // From the back, so each value's position array stays sorted while it is rewritten.
+        for (int k = size - 1; k >= i; k--) {
+            index.get(elements.get(k)).replace(k, k + 1);
+        }
+        elements.add(i, e);
+        index.computeIfAbsent(e, k -> new Positions()).insert(i);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int i) {
+        E removed = elements.remove(i);
+        Positions positions = index.get(removed);
+        positions.remove(i);
+        if (positions.size == 0) index.remove(removed);
+        for (int k = i; k < elements.size(); k++) {
+            index.get(elements.get(k)).replace(k + 1, k);
+        }
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public E set(int i, E e) {
+        E old = elements.set(i, e);
+        Positions positions = index.get(old);
+        positions.remove(i);
+        if (positions.size == 0) index.remove(old);
+        index.computeIfAbsent(e, k -> new Positions()).insert(i);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        index.clear();
+        modCount++;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return index.containsKey(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        Positions positions = index.get(o);
+        return (positions == null) ? -1 : positions.at[0];
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        Positions positions = index.get(o);
+        return (positions == null) ? -1 : positions.at[positions.size - 1];
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object o : c) {
+            if (!index.containsKey(o)) return false;
+        }
+        return true;
+    }
+
+    /** Number of times the value occurs, from the index. */
+    public int count(Object o) {
+        Positions positions = index.get(o);
+        return (positions == null) ? 0 : positions.size;
+    }
+
+    /** Sorted positions of one value: a growable int array, almost always of length 1 or 2. */
+    private static final class Positions {
+        int[] at = new int[1];
+        int size;
+
+        void append(int position) {
+            if (size == at.length) at = Arrays.copyOf(at, size * 2);
+            at[size++] = position;
+        }
+
+        void insert(int position) {
+            int slot = -Arrays.binarySearch(at, 0, size, position) - 1;
+            if (size == at.length) at = Arrays.copyOf(at, size * 2);
+            System.arraycopy(at, slot, at, slot + 1, size - slot);
+            at[slot] = position;
+            size++;
+        }
+
+        void remove(int position) {
+            int slot = Arrays.binarySearch(at, 0, size, position);
+            System.arraycopy(at, slot + 1, at, slot, size - slot - 1);
+            size--;
+        }
+
+        void replace(int oldPosition, int newPosition) {
+            at[Arrays.binarySearch(at, 0, size, oldPosition)] = newPosition;
+        }
+    }
+}
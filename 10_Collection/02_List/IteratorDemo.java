@@ -11,5 +11,12 @@ public class IteratorDemo {
             String s = it.next();
             System.out.println(s);
         }
+
+        // Same strings packed into one UTF-8 byte[]; the views read the bytes without creating Strings
+        PackedStringList packed = PackedStringList.of("One", "Two", "Three");
+        for (CharSequence view : packed.views()) {
+            System.out.println(view + " (" + view.length() + " chars)");
+        }
+        System.out.println("Contains Two? " + packed.contains("Two"));
     }
 }
@@ -0,0 +1,223 @@
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Immutable list of strings packed into one UTF-8 byte[] plus an int[] of offsets.
+ *
+ * A List&lt;String&gt; of short words spends most of its memory on object headers: a String
+ * object and a byte[] per element, plus the reference in the list. Here element i is simply
+ * bytes[offsets[i] .. offsets[i + 1]), so a million short ASCII strings cost a few bytes each.
+ *
+ * - get(i) decodes a new String, like reading from a file; prefer the views when you only read.
+ * - view(i) and views() return CharSequence windows onto the shared bytes, without a String.
+ * - forEachView reuses a single view object for the whole pass, so it allocates nothing.
+ * - indexOf / contains compare bytes directly against the encoded probe.
+ *
+ * Views of pure-ASCII elements index the bytes directly. An element with other characters
+ * is decoded the first time its view needs a char, because UTF-8 positions are not char
+ * positions. A view stays valid forever, since the list never changes.
+ */
+public final class PackedStringList extends AbstractList<String> implements RandomAccess {
+
+    private final byte[] bytes;
+    private final int[] offsets;
+    private final BitSet nonAscii;
+    private final int size;
+
+    private PackedStringList(byte[] bytes, int[] offsets, BitSet nonAscii, int size) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.nonAscii = nonAscii;
+        this.size = size;
+    }
+
+    public static PackedStringList of(CharSequence... values) {
+        return copyOf(Arrays.asList(values));
+    }
+
+    public static PackedStringList copyOf(Iterable<? extends CharSequence> values) {
+        Builder builder = newBuilder();
+        for (CharSequence value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int i) {
+        checkIndex(i);
+        return new String(bytes, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+    }
+
+    /** Length of element i in UTF-8 bytes. */
+    public int byteLength(int i) {
+        checkIndex(i);
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /** A CharSequence window onto element i; no bytes are copied for ASCII elements. */
+    public CharSequence view(int i) {
+        checkIndex(i);
+        View view = new View();
+        view.moveTo(i);
+        return view;
+    }
+
+    /** Iterates over views instead of Strings; each element gets its own small view object. */
+    public Iterable<CharSequence> views() {
+        return () -> new Iterator<CharSequence>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public CharSequence next() {
+                if (next >= size) throw new NoSuchElementException();
+                return view(next++);
+            }
+        };
+    }
+
+    /**
+     * Passes every element to the action as one reused view, moved to the next element each time.
+     * The action must not keep the view; call toString() on it to keep a copy.
+     */
+    public void forEachView(Consumer<? super CharSequence> action) {
+        View view = new View();
+        for (int i = 0; i < size; i++) {
+            view.moveTo(i);
+            action.accept(view);
+        }
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof String)) return -1;
+        byte[] probe = ((String) o).getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < size; i++) {
+            if (matches(i, probe)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof String)) return -1;
+        byte[] probe = ((String) o).getBytes(StandardCharsets.UTF_8);
+        for (int i = size - 1; i >= 0; i--) {
+            if (matches(i, probe)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /** Bytes held by the packed data, not counting this object. */
+    public long footprintBytes() {
+        return bytes.length + 4L * offsets.length + nonAscii.size() / 8;
+    }
+
+    private boolean matches(int i, byte[] probe) {
+        int from = offsets[i];
+        int to = offsets[i + 1];
+        return Arrays.equals(bytes, from, to, probe, 0, probe.length);
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+    }
+
+    /** Movable CharSequence over one element; decodes only non-ASCII elements, and only once. */
+    private final class View implements CharSequence {
+        private int start;
+        private int length;
+        private boolean ascii;
+        private String decoded;
+
+        void moveTo(int i) {
+            start = offsets[i];
+            length = offsets[i + 1] - start;
+            ascii = !nonAscii.get(i);
+            decoded = null;
+        }
+
+        @Override
+        public int length() {
+            return ascii ? length : decoded().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (!ascii) return decoded().charAt(index);
+            if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+            return (char) bytes[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().substring(from, to);
+        }
+
+        @Override
+        public String toString() {
+            return ascii ? new String(bytes, start, length, StandardCharsets.ISO_8859_1) : decoded();
+        }
+
+        private String decoded() {
+            if (decoded == null) decoded = new String(bytes, start, length, StandardCharsets.UTF_8);
+            return decoded;
+        }
+    }
+
+    public static final class Builder {
+        private byte[] bytes = new byte[64];
+        private int[] offsets = new int[16];
+        private final BitSet nonAscii = new BitSet();
+        private int size;
+        private int length;
+
+        private Builder() {
+        }
+
+        public Builder add(CharSequence value) {
+            if (value == null) throw new NullPointerException("PackedStringList does not hold nulls");
+            byte[] encoded = value.toString().getBytes(StandardCharsets.UTF_8);
+            if (encoded.length != value.length()) nonAscii.set(size);
+            if (length + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + encoded.length, bytes.length * 2));
+            }
+            System.arraycopy(encoded, 0, bytes, length, encoded.length);
+            length += encoded.length;
+            if (size + 2 > offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            offsets[++size] = length;
+            return this;
+        }
+
+        /** Builds the list, trimming the buffers to their exact size. */
+        public PackedStringList build() {
+            return new PackedStringList(Arrays.copyOf(bytes, length), Arrays.copyOf(offsets, size + 1),
+                    (BitSet) nonAscii.clone(), size);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * List stored as a tiered vector: a row of equally sized circular blocks, all full except the last.
+ *
+ * - get(i) and set(i) are O(1): block i / B, slot i % B, with B a power of two.
+ * - add(i, e) and remove(i) shift at most half of one block, then pass a single element
+ *   across each later block (O(1) per block, thanks to the circular layout).
+ *   With B kept near sqrt(n) that is O(sqrt n) instead of the O(n) arraycopy of ArrayList,
+ *   so inserting near the front or removing the head of a large list stays cheap.
+ * - Appending and removing the last element are O(1) amortized.
+ *
+ * B doubles or halves when the size moves far from B * B, which re-blocks the list in O(n);
+ * that happens only after O(n) operations. Like ArrayList this class is not thread-safe.
+ */
+public class TieredList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int MIN_SHIFT = 4;
+
+    private int shift = MIN_SHIFT;
+    private Block[] blocks = new Block[4];
+    private int blockCount;
+    private int size;
+
+    public TieredList() {
+    }
+
+    public TieredList(Collection<? extends E> source) {
+        addAll(source);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int i) {
+        checkIndex(i, size);
+        return (E) blocks[i >>> shift].get(i & mask());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int i, E e) {
+        checkIndex(i, size);
+        return (E) blocks[i >>> shift].set(i & mask(), e);
+    }
+
+    @Override
+    public boolean add(E e) {
+        appendElement(e);
+        size++;
+        modCount++;
+        resizeIfNeeded();
+        return true;
+    }
+
+    @Override
+    public void add(int i, E e) {
+        checkIndex(i, size + 1);
+        if (i == size) {
+            add(e);
+            return;
+        }
+        int k = i >>> shift;
+        Block block = blocks[k];
+        // Make room in block k by handing its last element on to the next block, and so on.
+        boolean carrying = block.isFull();
+        Object carry = carrying ? block.popBack() : null;
+        block.insert(i & mask(), e);
+        for (int m = k + 1; carrying && m < blockCount; m++) {
+            Block next = blocks[m];
+            boolean full = next.isFull();
+            Object out = full ? next.popBack() : null;
+            next.pushFront(carry);
+            carry = out;
+            carrying = full;
+        }
+        if (carrying) appendElement(carry);
+        size++;
+        modCount++;
+        resizeIfNeeded();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int i) {
+        checkIndex(i, size);
+        int k = i >>> shift;
+        E removed = (E) blocks[k].remove(i & mask());
+        // Refill block k from the front of the next block, and so on up to the last block.
+        for (int m = k + 1; m < blockCount; m++) {
+            blocks[m - 1].pushBack(blocks[m].popFront());
+        }
+        if (blocks[blockCount - 1].count == 0) blocks[--blockCount] = null;
+        size--;
+        modCount++;
+        resizeIfNeeded();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        blocks = new Block[4];
+        blockCount = 0;
+        size = 0;
+        shift = MIN_SHIFT;
+        modCount++;
+    }
+
+    private int mask() {
+        return (1 << shift) - 1;
+    }
+
+    private void appendElement(Object e) {
+        if (blockCount == 0 || blocks[blockCount - 1].isFull()) {
+            if (blockCount == blocks.length) {
+                Block[] grown = new Block[blocks.length * 2];
+                System.arraycopy(blocks, 0, grown, 0, blockCount);
+                blocks = grown;
+            }
+            blocks[blockCount++] = new Block(1 << shift);
+        }
+        blocks[blockCount - 1].pushBack(e);
+    }
+
+    /** Keeps the block size near sqrt(size): re-blocks when size leaves [B*B/8, 2*B*B]. */
+    private void resizeIfNeeded() {
+        long b = 1L << shift;
+        int newShift = shift;
+        if (size > 2 * b * b) {
+            newShift = shift + 1;
+        } else if (shift > MIN_SHIFT && size < b * b / 8) {
+            newShift = shift - 1;
+        }
+        if (newShift == shift) return;
+
+        Object[] all = new Object[size];
+        for (int m = 0, n = 0; m < blockCount; m++) {
+            n += blocks[m].copyTo(all, n);
+        }
+        shift = newShift;
+        int blockSize = 1 << shift;
+        blockCount = 0;
+        blocks = new Block[Math.max(4, (size >>> shift) + 1)];
+        for (int from = 0; from < size; from += blockSize) {
+            Block block = new Block(blockSize);
+            int count = Math.min(blockSize, size - from);
+            System.arraycopy(all, from, block.data, 0, count);
+            block.count = count;
+            blocks[blockCount++] = block;
+        }
+    }
+
+    private static void checkIndex(int i, int limit) {
+        if (i < 0 || i >= limit) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + limit);
+    }
+
+    /** Fixed-capacity circular buffer; slot j of the block is data[(head + j) &amp; mask]. */
+    private static final class Block {
+        final Object[] data;
+        final int mask;
+        int head;
+        int count;
+
+        Block(int capacity) {
+            this.data = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        boolean isFull() {
+            return count == data.length;
+        }
+
+        Object get(int j) {
+            return data[(head + j) & mask];
+        }
+
+        Object set(int j, Object e) {
+            int slot = (head + j) & mask;
+            Object old = data[slot];
+            data[slot] = e;
+            return old;
+        }
+
+        void pushBack(Object e) {
+            data[(head + count) & mask] = e;
+            count++;
+        }
+
+        void pushFront(Object e) {
+            head = (head - 1) & mask;
+            data[head] = e;
+            count++;
+        }
+
+        Object popBack() {
+            int slot = (head + count - 1) & mask;
+            Object e = data[slot];
+            data[slot] = null;
+            count--;
+            return e;
+        }
+
+        Object popFront() {
+            Object e = data[head];
+            data[head] = null;
+            head = (head + 1) & mask;
+            count--;
+            return e;
+        }
+
+        /** Inserts at position j (block not full), moving whichever side of j is shorter. */
+        void insert(int j, Object e) {
+            if (j < count / 2) {
+                head = (head - 1) & mask;
+                for (int p = 0; p < j; p++) {
+                    data[(head + p) & mask] = data[(head + p + 1) & mask];
+                }
+            } else {
+                for (int p = count; p > j; p--) {
+                    data[(head + p) & mask] = data[(head + p - 1) & mask];
+                }
+            }
+            data[(head + j) & mask] = e;
+            count++;
+        }
+
+        /** Removes position j, closing the gap from whichever side is shorter. */
+        Object remove(int j) {
+            Object removed = data[(head + j) & mask];
+            if (j < count / 2) {
+                for (int p = j; p > 0; p--) {
+                    data[(head + p) & mask] = data[(head + p - 1) & mask];
+                }
+                data[head] = null;
+                head = (head + 1) & mask;
+            } else {
+                for (int p = j; p < count - 1; p++) {
+                    data[(head + p) & mask] = data[(head + p + 1) & mask];
+                }
+                data[(head + count - 1) & mask] = null;
+            }
+            count--;
+            return removed;
+        }
+
+        int copyTo(Object[] target, int offset) {
+            for (int j = 0; j < count; j++) {
+                target[offset + j] = data[(head + j) & mask];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.skillsoft.collections;
+
+/**
+ * Resizable Bloom filter split into 512-bit blocks, so every query reads one 64-byte cache line.
+ *
+ * - The hash picks a block, and a second hash sets one bit in each of the block's eight longs
+ *   (a "split block" filter): a query is eight independent word tests on a single line,
+ *   with no data-dependent branches.
+ * - mightContain() returning false means the key was never added; true may be a false positive.
+ * - Sized for an expected number of keys at a given number of bits per key, rounded up to a
+ *   power-of-two number of blocks (10 bits gives roughly a 1% false-positive rate).
+ * - Bits can not be cleared, so the owner calls rebuild() with its current keys once the
+ *   filter is over capacity or holds too many removed keys.
+ * - Lookups, definite misses and reported false positives are counted for stats().
+ *
+ * Used by BloomFilteredSet and BloomFilteredMap. Not thread-safe.
+ */
+final class BlockedBloomFilter {
+
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_LONGS = BLOCK_BITS / 64;
+    private static final int MIN_KEYS = 64;
+    // 2^24 blocks of 64 bytes: a 1 GiB long[] at most.
+    private static final int MAX_BLOCKS = 1 << 24;
+
+    private final int bitsPerKey;
+    private long[] bits;
+    private int blockMask;
+    private int capacity;
+    private int count;
+
+    private long lookups;
+    private long rejected;
+    private long falsePositives;
+    private long rebuilds;
+
+    BlockedBloomFilter(int expectedKeys, int bitsPerKey) {
+        if (expectedKeys < 0) throw new IllegalArgumentException("expectedKeys must not be negative: " + expectedKeys);
+        if (bitsPerKey <= 0 || bitsPerKey > 64) throw new IllegalArgumentException("bitsPerKey must be in 1..64: " + bitsPerKey);
+        this.bitsPerKey = bitsPerKey;
+        allocate(expectedKeys);
+    }
+
+    /** Spreads a hashCode over 64 bits (the MurmurHash3 finalizer). */
+    static long hash(Object key) {
+        long h = (key == null) ? 0 : key.hashCode();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Eight 6-bit bit positions, one per word. The low bits of the hash already chose the block,
+     * and in a plain multiply each product bit depends only on the bits below it, so the hash is
+     * bit-reversed first: the positions then come from the high bits, which the block never uses.
+     */
+    private static long bitIndexes(long hash) {
+        return Long.reverse(hash) * 0x9e3779b97f4a7c15L;
+    }
+
+    void add(Object key) {
+        long hash = hash(key);
+        int base = ((int) hash & blockMask) * BLOCK_LONGS;
+        long bitIndexes = bitIndexes(hash);
+        for (int i = 0; i < BLOCK_LONGS; i++) {
+            bits[base + i] |= 1L << (bitIndexes >>> (6 * i));
+        }
+        count++;
+    }
+
+    boolean mightContain(Object key) {
+        lookups++;
+        long hash = hash(key);
+        int base = ((int) hash & blockMask) * BLOCK_LONGS;
+        long bitIndexes = bitIndexes(hash);
+        // One bit per word, all eight checked without branching; any unset bit means absent.
+        long missing = 0;
+        for (int i = 0; i < BLOCK_LONGS; i++) {
+            missing |= ~bits[base + i] & (1L << (bitIndexes >>> (6 * i)));
+        }
+        if (missing == 0) return true;
+        rejected++;
+        return false;
+    }
+
+    /** Called by the owner when mightContain() said yes but the key was not there. */
+    void recordFalsePositive() {
+        falsePositives++;
+    }
+
+    /**
+     * True once the filter holds more keys than it was sized for, or when more than half of
+     * the keys added are gone from the owner (liveKeys is the owner's current size).
+     */
+    boolean needsRebuild(int liveKeys) {
+        return count > capacity || count - liveKeys > Math.max(liveKeys, MIN_KEYS);
+    }
+
+    /** Starts over, sized for twice the live keys, and adds them all. */
+    void rebuild(int liveKeys, Iterable<?> keys) {
+        allocate(2 * liveKeys);
+        for (Object key : keys) {
+            add(key);
+        }
+        rebuilds++;
+    }
+
+    void clear() {
+        allocate(MIN_KEYS);
+    }
+
+    BloomFilterStats stats() {
+        return new BloomFilterStats(lookups, rejected, falsePositives, rebuilds, 8L * bits.length);
+    }
+
+    private void allocate(int expectedKeys) {
+        capacity = Math.max(expectedKeys, MIN_KEYS);
+        long wanted = ((long) capacity * bitsPerKey + BLOCK_BITS - 1) / BLOCK_BITS;
+        long blocks = Long.highestOneBit(wanted);
+        if (blocks < wanted) blocks <<= 1;
+        blocks = Math.min(blocks, MAX_BLOCKS);
+        bits = new long[(int) blocks * BLOCK_LONGS];
+        blockMask = (int) blocks - 1;
+        count = 0;
+    }
+}
@@ -0,0 +1,57 @@
+package com.skillsoft.collections;
+
+/**
+ * Immutable snapshot of a Bloom-filtered collection's statistics, as returned by filterStats().
+ */
+public final class BloomFilterStats {
+
+    private final long lookupCount;
+    private final long rejectedCount;
+    private final long falsePositiveCount;
+    private final long rebuildCount;
+    private final long filterBytes;
+
+    BloomFilterStats(long lookupCount, long rejectedCount, long falsePositiveCount, long rebuildCount, long filterBytes) {
+        this.lookupCount = lookupCount;
+        this.rejectedCount = rejectedCount;
+        this.falsePositiveCount = falsePositiveCount;
+        this.rebuildCount = rebuildCount;
+        this.filterBytes = filterBytes;
+    }
+
+    /** Membership checks that went through the filter. */
+    public long lookupCount() {
+        return lookupCount;
+    }
+
+    /** Lookups the filter answered alone, as definite misses. */
+    public long rejectedCount() {
+        return rejectedCount;
+    }
+
+    /** Lookups the filter let through for a key that then turned out to be absent. */
+    public long falsePositiveCount() {
+        return falsePositiveCount;
+    }
+
+    /** Fraction of absent keys that the filter failed to reject; 0.0 when no absent key was probed. */
+    public double falsePositiveRate() {
+        long absent = rejectedCount + falsePositiveCount;
+        return (absent == 0) ? 0.0 : (double) falsePositiveCount / absent;
+    }
+
+    public long rebuildCount() {
+        return rebuildCount;
+    }
+
+    public long filterBytes() {
+        return filterBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BloomFilterStats{lookups=%d, rejected=%d, falsePositives=%d, falsePositiveRate=%.4f, "
+                        + "rebuilds=%d, filterBytes=%d}",
+                lookupCount, rejectedCount, falsePositiveCount, falsePositiveRate(), rebuildCount, filterBytes);
+    }
+}
@@ -0,0 +1,103 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Map decorator that answers most lookups of absent keys from a blocked Bloom filter.
+ *
+ * get() and containsKey() first ask the filter; a key it has never seen is rejected after
+ * reading one cache line of bits, without touching the wrapped map. Everything else behaves
+ * like BloomFilteredSet: false positives are counted in filterStats(), the filter is rebuilt
+ * from the map's keys when it outgrows its capacity or holds many removed keys, and all
+ * changes must go through this decorator (removing through entrySet() is fine).
+ * Like LRUCache this class is not thread-safe.
+ */
+public class BloomFilteredMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int DEFAULT_BITS_PER_KEY = 10;
+
+    private final Map<K, V> delegate;
+    private final BlockedBloomFilter filter;
+
+    public BloomFilteredMap() {
+        this(new HashMap<>());
+    }
+
+    public BloomFilteredMap(Map<K, V> delegate) {
+        this(delegate, DEFAULT_BITS_PER_KEY);
+    }
+
+    /** @param bitsPerKey filter bits per key; 10 gives about 1% false positives */
+    public BloomFilteredMap(Map<K, V> delegate, int bitsPerKey) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.filter = new BlockedBloomFilter(delegate.size(), bitsPerKey);
+        for (K key : delegate.keySet()) {
+            filter.add(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!filter.mightContain(key)) return null;
+        V value = delegate.get(key);
+        // A null value can also mean a key mapped to null, so only then is containsKey needed.
+        if (value == null && !delegate.containsKey(key)) filter.recordFalsePositive();
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!filter.mightContain(key)) return false;
+        boolean found = delegate.containsKey(key);
+        if (!found) filter.recordFalsePositive();
+        return found;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        V old = delegate.put(key, value);
+        // Judge "new key" by the old value, not by size: a bounded delegate such as LRUCache
+        // evicts on insert and keeps its size, and a missed add() would be a false negative.
+        if (old == null) {
+            filter.add(key);
+            rebuildIfNeeded();
+        }
+        return old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int before = delegate.size();
+        V old = delegate.remove(key);
+        if (delegate.size() != before) rebuildIfNeeded();
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        filter.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return delegate.entrySet();
+    }
+
+    public BloomFilterStats filterStats() {
+        return filter.stats();
+    }
+
+    private void rebuildIfNeeded() {
+        if (filter.needsRebuild(delegate.size())) filter.rebuild(delegate.size(), delegate.keySet());
+    }
+}
@@ -0,0 +1,95 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Set decorator that answers most negative contains() calls from a blocked Bloom filter.
+ *
+ * - A key the filter has never seen is rejected after reading one cache line of bits,
+ *   without walking a hash bucket or calling equals().
+ * - A filter hit falls through to the wrapped set; if the key is not there after all,
+ *   the miss is counted as a false positive (see filterStats()).
+ * - The filter grows with the set, and is rebuilt from the set's keys when it is over
+ *   capacity or when many of the keys it was built from have been removed.
+ *
+ * Worth it when most lookups miss and the wrapped set is large; for hit-heavy lookups it only
+ * adds the filter check. All changes must go through this decorator, otherwise the filter
+ * misses keys that were added behind its back. Like LRUCache this class is not thread-safe.
+ */
+public class BloomFilteredSet<E> extends AbstractSet<E> {
+
+    private static final int DEFAULT_BITS_PER_KEY = 10;
+
+    private final Set<E> delegate;
+    private final BlockedBloomFilter filter;
+
+    public BloomFilteredSet() {
+        this(new HashSet<>());
+    }
+
+    public BloomFilteredSet(Set<E> delegate) {
+        this(delegate, DEFAULT_BITS_PER_KEY);
+    }
+
+    /** @param bitsPerKey filter bits per element; 10 gives about 1% false positives */
+    public BloomFilteredSet(Set<E> delegate, int bitsPerKey) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.filter = new BlockedBloomFilter(delegate.size(), bitsPerKey);
+        for (E e : delegate) {
+            filter.add(e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!filter.mightContain(o)) return false;
+        boolean found = delegate.contains(o);
+        if (!found) filter.recordFalsePositive();
+        return found;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (!delegate.add(e)) return false;
+        filter.add(e);
+        rebuildIfNeeded();
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!delegate.remove(o)) return false;
+        rebuildIfNeeded();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        filter.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        // Removing through the iterator leaves the key's bits in the filter until the next
+        // rebuild; that can only cause a false positive, never a wrong answer.
+        return delegate.iterator();
+    }
+
+    public BloomFilterStats filterStats() {
+        return filter.stats();
+    }
+
+    private void rebuildIfNeeded() {
+        if (filter.needsRebuild(delegate.size())) filter.rebuild(delegate.size(), delegate);
+    }
+}
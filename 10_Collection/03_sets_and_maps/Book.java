@@ -0,0 +1,66 @@
+package com.skillsoft.collections;
+
+import java.util.Objects;
+
+/**
+ * Immutable book value, safe to use as a HashMap key.
+ *
+ * The hash code is computed once in the constructor without the varargs array that
+ * Objects.hash would allocate. Use {@link #of} to share one instance per distinct book.
+ * The author is kept as a StringDictionary code, so equals() compares authors as ints. If the
+ * shared dictionary is full, a new author is kept as a String in the object instead.
+ */
+public final class Book {
+
+    private static final Interner<Book> INTERNER = new Interner<>();
+    private static final StringDictionary AUTHORS = new StringDictionary();
+
+    private final String name;
+    private final int authorCode;
+    // Set only when authorCode is NO_CODE.
+    private final String uncodedAuthor;
+    private final int hash;
+
+    public Book(String name, String author) {
+        this.name = name;
+        this.authorCode = AUTHORS.tryEncode(author);
+        this.uncodedAuthor = (authorCode == StringDictionary.NO_CODE) ? author : null;
+        // Same value as Objects.hash(name, author).
+        this.hash = 31 * (31 + Objects.hashCode(name)) + Objects.hashCode(author);
+    }
+
+    /** Returns the canonical instance equal to new Book(name, author). */
+    public static Book of(String name, String author) {
+        return INTERNER.intern(new Book(name, author));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAuthor() {
+        return (authorCode == StringDictionary.NO_CODE) ? uncodedAuthor : AUTHORS.decode(authorCode);
+    }
+
+    @Override
+    public String toString() {
+        return "{" + name + ", " + getAuthor() + "}";
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null) return false;
+        if (!(other instanceof Book)) return false;
+        Book otherBook = (Book) other;
+        return this.hash == otherBook.hash &&
+               Objects.equals(this.name, otherBook.name) &&
+               this.authorCode == otherBook.authorCode &&
+               Objects.equals(this.uncodedAuthor, otherBook.uncodedAuthor);
+    }
+}
@@ -0,0 +1,412 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Size- or weight-bounded LRU cache with a W-TinyLFU admission policy.
+ *
+ * - New entries land in a small LRU "window" (1% of the capacity).
+ * - Entries leaving the window compete with the LRU victim of the main space;
+ *   a FrequencySketch decides which one is more popular and keeps only the winner.
+ * - The main space is a segmented LRU: entries hit again while on probation are
+ *   promoted to the protected segment (80% of the main space).
+ * - A single scan of cold keys only churns the window, so the hot working set survives.
+ *
+ * Capacity is counted by a Weigher: one unit per entry by default, or any custom
+ * measure such as the byte size of the value. Like LRUCache this class is not thread-safe.
+ *
+ * Example:
+ * <pre>
+ * Map&lt;Integer, String&gt; cache = BoundedLRUCache.&lt;Integer, String&gt;newBuilder()
+ *         .maximumWeight(64 * 1024)
+ *         .weigher((k, v) -&gt; v.length() * 2)
+ *         .build();
+ * </pre>
+ */
+public class BoundedLRUCache<K, V> extends AbstractMap<K, V> {
+
+    /** Computes the relative cost of an entry; must be zero or positive and stable while cached. */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+
+        int weigh(K key, V value);
+
+        static <K, V> Weigher<K, V> singleton() {
+            return (key, value) -> 1;
+        }
+    }
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedSegment = new AccessOrderDeque<>();
+    private final FrequencySketch sketch;
+    private final Weigher<? super K, ? super V> weigher;
+    private final BiConsumer<? super K, ? super V> evictionListener;
+
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private long windowWeight;
+    private long protectedWeight;
+    private long weightedSize;
+    private long sketchCapacity;
+
+    private BoundedLRUCache(Builder<K, V> builder) {
+        this.maximum = builder.maximum;
+        this.weigher = builder.weigher;
+        this.evictionListener = builder.evictionListener;
+        this.windowMaximum = Math.max(1, maximum / 100);
+        this.protectedMaximum = (long) ((maximum - windowMaximum) * 0.8);
+        this.sketchCapacity = builder.weighted ? Math.min(maximum, 1 << 16) : maximum;
+        this.sketch = new FrequencySketch(sketchCapacity);
+    }
+
+    public static <K, V> Builder<K, V> newBuilder() {
+        return new Builder<>();
+    }
+
+    public long maximum() {
+        return maximum;
+    }
+
+    /** Sum of the weights of all cached entries; equals size() when no custom weigher is used. */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = data.get(key);
+        if (key != null) sketch.increment(key);
+        if (node == null) return null;
+        onHit(node);
+        return node.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) throw new IllegalArgumentException("Negative weight for key " + key);
+
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            V old = node.value;
+            node.value = value;
+            adjustWeight(node, weight - node.weight);
+            onHit(node);
+            evict();
+            return old;
+        }
+
+        node = new Node<>(key, value, weight);
+        data.put(key, node);
+        if (data.size() > sketchCapacity) {
+            // Weight-bounded caches cannot know their entry count up front, so the sketch grows with them.
+            sketchCapacity = 2L * data.size();
+            sketch.ensureCapacity(sketchCapacity);
+        }
+        window.addLast(node);
+        windowWeight += weight;
+        weightedSize += weight;
+        evict();
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) return null;
+        unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public void clear() {
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        windowWeight = 0;
+        protectedWeight = 0;
+        weightedSize = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private void onHit(Node<K, V> node) {
+        if (node.queue == WINDOW) {
+            window.moveToBack(node);
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedSegment.addLast(node);
+            protectedWeight += node.weight;
+            demoteFromProtected();
+        } else {
+            protectedSegment.moveToBack(node);
+        }
+    }
+
+    private void demoteFromProtected() {
+        while (protectedWeight > protectedMaximum) {
+            Node<K, V> demoted = protectedSegment.pollFirst();
+            if (demoted == null) break;
+            protectedWeight -= demoted.weight;
+            demoted.queue = PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private void adjustWeight(Node<K, V> node, int delta) {
+        node.weight += delta;
+        weightedSize += delta;
+        if (node.queue == WINDOW) {
+            windowWeight += delta;
+        } else if (node.queue == PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    /**
+     * Moves entries that overflow the window into probation as admission candidates and,
+     * while the cache is over its maximum, lets each candidate duel the probation LRU victim.
+     */
+    private void evict() {
+        Node<K, V> firstCandidate = null;
+        while (windowWeight > windowMaximum) {
+            Node<K, V> node = window.pollFirst();
+            if (node == null) break;
+            windowWeight -= node.weight;
+            node.queue = PROBATION;
+            probation.addLast(node);
+            if (firstCandidate == null) firstCandidate = node;
+        }
+
+        Node<K, V> candidate = firstCandidate;
+        while (weightedSize > maximum) {
+            Node<K, V> victim = probation.peekFirst();
+            if (victim == null) {
+                victim = (protectedSegment.peekFirst() != null) ? protectedSegment.peekFirst() : window.peekFirst();
+                evictEntry(victim);
+                continue;
+            }
+            if (candidate == null || candidate == victim) {
+                if (candidate == victim) candidate = candidate.next;
+                evictEntry(victim);
+                continue;
+            }
+            Node<K, V> loser = admit(candidate, victim) ? victim : candidate;
+            if (loser == candidate) candidate = candidate.next;
+            evictEntry(loser);
+        }
+    }
+
+    /** TinyLFU admission: the candidate replaces the victim only if it is strictly more popular. */
+    private boolean admit(Node<K, V> candidate, Node<K, V> victim) {
+        if (candidate.weight > maximum) return false;
+        return sketch.frequency(candidate.key) > sketch.frequency(victim.key);
+    }
+
+    private void evictEntry(Node<K, V> node) {
+        data.remove(node.key);
+        unlink(node);
+        if (evictionListener != null) evictionListener.accept(node.key, node.value);
+    }
+
+    private void unlink(Node<K, V> node) {
+        weightedSize -= node.weight;
+        if (node.queue == WINDOW) {
+            window.remove(node);
+            windowWeight -= node.weight;
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+        } else {
+            protectedSegment.remove(node);
+            protectedWeight -= node.weight;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            Iterator<Node<K, V>> it = data.values().iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+                private Node<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    last = it.next();
+                    return new SimpleImmutableEntry<>(last.key, last.value);
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) throw new IllegalStateException();
+                    it.remove();
+                    unlink(last);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return data.size();
+        }
+
+        @Override
+        public void clear() {
+            BoundedLRUCache.this.clear();
+        }
+    }
+
+    public static final class Builder<K, V> {
+
+        private long maximum = -1;
+        private boolean weighted;
+        private Weigher<? super K, ? super V> weigher = Weigher.singleton();
+        private boolean customWeigher;
+        private BiConsumer<? super K, ? super V> evictionListener;
+
+        private Builder() {
+        }
+
+        /** Bounds the cache by entry count. */
+        public Builder<K, V> maximumSize(long maximumSize) {
+            if (maximum >= 0) throw new IllegalStateException("maximum size or weight was already set");
+            if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+            this.maximum = maximumSize;
+            return this;
+        }
+
+        /** Bounds the cache by the total weight reported by {@link #weigher}. */
+        public Builder<K, V> maximumWeight(long maximumWeight) {
+            if (maximum >= 0) throw new IllegalStateException("maximum size or weight was already set");
+            if (maximumWeight <= 0) throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+            this.maximum = maximumWeight;
+            this.weighted = true;
+            return this;
+        }
+
+        public Builder<K, V> weigher(Weigher<? super K, ? super V> weigher) {
+            this.weigher = Objects.requireNonNull(weigher, "weigher");
+            this.customWeigher = true;
+            return this;
+        }
+
+        /** Called with each entry the policy evicts (not for explicit removals). */
+        public Builder<K, V> evictionListener(BiConsumer<? super K, ? super V> evictionListener) {
+            this.evictionListener = Objects.requireNonNull(evictionListener, "evictionListener");
+            return this;
+        }
+
+        public BoundedLRUCache<K, V> build() {
+            if (maximum < 0) throw new IllegalStateException("maximumSize or maximumWeight is required");
+            if (weighted && !customWeigher) throw new IllegalStateException("maximumWeight requires a weigher");
+            if (!weighted && customWeigher) throw new IllegalStateException("weigher requires maximumWeight");
+            return new BoundedLRUCache<>(this);
+        }
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        byte queue = WINDOW;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /** Intrusive doubly linked list ordered from least to most recently used. */
+    private static final class AccessOrderDeque<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        Node<K, V> peekFirst() {
+            return head;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> first = head;
+            if (first != null) remove(first);
+            return first;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node == tail) return;
+            remove(node);
+            addLast(node);
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+}
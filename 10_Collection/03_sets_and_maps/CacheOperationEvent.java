@@ -0,0 +1,36 @@
+package com.skillsoft.collections;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event emitted by caches that record statistics, one per get/put/load.
+ * Disabled by default; enable it in a recording with
+ * {@code -XX:StartFlightRecording:settings=profile,+com.skillsoft.collections.CacheOperation#enabled=true}.
+ */
+@Name("com.skillsoft.collections.CacheOperation")
+@Label("Cache Operation")
+@Category({ "Collections", "Cache" })
+@Description("A single get, put or load on a cache that records statistics")
+@Enabled(false)
+@StackTrace(false)
+final class CacheOperationEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Hit")
+    boolean hit;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+}
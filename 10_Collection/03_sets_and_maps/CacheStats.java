@@ -0,0 +1,92 @@
+package com.skillsoft.collections;
+
+/**
+ * Immutable snapshot of a cache's statistics, as returned by stats().
+ */
+public final class CacheStats {
+
+    static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0,
+            LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeNanos;
+    private final LatencyHistogram.Snapshot getLatency;
+    private final LatencyHistogram.Snapshot putLatency;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long loadSuccessCount, long loadFailureCount,
+               long totalLoadTimeNanos, LatencyHistogram.Snapshot getLatency, LatencyHistogram.Snapshot putLatency) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.getLatency = getLatency;
+        this.putLatency = putLatency;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /** Fraction of requests that were hits; 1.0 when there were no requests. */
+    public double hitRate() {
+        long requests = requestCount();
+        return (requests == 0) ? 1.0 : (double) hitCount / requests;
+    }
+
+    public double missRate() {
+        long requests = requestCount();
+        return (requests == 0) ? 0.0 : (double) missCount / requests;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long loadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long totalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    /** Average time spent loading a value, successful or not. */
+    public double averageLoadPenaltyNanos() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return (loads == 0) ? 0.0 : (double) totalLoadTimeNanos / loads;
+    }
+
+    public LatencyHistogram.Snapshot getLatency() {
+        return getLatency;
+    }
+
+    public LatencyHistogram.Snapshot putLatency() {
+        return putLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{hits=%d, misses=%d, hitRate=%.3f, evictions=%d, loadSuccess=%d, "
+                        + "loadFailure=%d, totalLoadTime=%dns, get=%s, put=%s}",
+                hitCount, missCount, hitRate(), evictionCount, loadSuccessCount, loadFailureCount,
+                totalLoadTimeNanos, getLatency, putLatency);
+    }
+}
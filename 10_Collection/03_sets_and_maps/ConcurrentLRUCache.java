@@ -0,0 +1,239 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe LRU cache that splits the key space into lock-striped segments.
+ *
+ * - Each segment is an access-ordered LinkedHashMap guarded by its own lock, so
+ *   a get() only serializes with other operations on keys that hash to the same segment.
+ * - Eviction follows LRUCache: when a segment grows past its share of the capacity,
+ *   removeEldestEntry() drops that segment's least recently used entry.
+ * - Recency is tracked per segment, so the evicted entry is the LRU of its segment, not
+ *   necessarily of the whole cache: with several segments this is an approximation of
+ *   LRUCache, and a hot segment can evict while another still has room. To keep that
+ *   approximation close, every segment holds at least MIN_SEGMENT_ENTRIES entries; a small
+ *   cache (like the default of 5) gets a single segment and evicts exactly as LRUCache does.
+ * - Iteration and the Map views are weakly consistent snapshots taken one segment at a time.
+ */
+public class ConcurrentLRUCache<K, V> extends AbstractMap<K, V> {
+
+    private static final int MAX_ENTRIES = 5;
+    private static final int MIN_SEGMENT_ENTRIES = 8;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final int maxEntries;
+
+    public ConcurrentLRUCache() {
+        this(MAX_ENTRIES);
+    }
+
+    public ConcurrentLRUCache(int maxEntries) {
+        this(maxEntries, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentLRUCache(int maxEntries, int concurrencyLevel) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        if (concurrencyLevel <= 0) throw new IllegalArgumentException("concurrencyLevel must be positive: " + concurrencyLevel);
+
+        // Tiny segments evict each other's keys far from LRU order, so cap the count by capacity.
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(concurrencyLevel, maxEntries / MIN_SEGMENT_ENTRIES)));
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        this.maxEntries = maxEntries;
+
+        // Spread the remainder so the segment capacities add up to exactly maxEntries.
+        int base = maxEntries / segmentCount;
+        int remainder = maxEntries % segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(this, base + (i < remainder ? 1 : 0));
+        }
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Same contract as LinkedHashMap.removeEldestEntry, applied per segment.
+     * Subclasses may override this to veto or extend the default capacity check;
+     * segmentSize and segmentCapacity describe the segment being updated.
+     */
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest, int segmentSize, int segmentCapacity) {
+        return segmentSize > segmentCapacity;
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = (key == null) ? 0 : key.hashCode();
+        // Same spreading as HashMap so keys with poor low bits still use every segment.
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    @Override
+    public V get(Object key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.get(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.containsKey(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.put(key, value);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.map.remove(key, value);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.map.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private List<Map.Entry<K, V>> snapshot() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                for (Map.Entry<K, V> e : segment.map.entrySet()) {
+                    entries.add(new SimpleImmutableEntry<>(e.getKey(), e.getValue()));
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return entries;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            Iterator<Map.Entry<K, V>> it = snapshot().iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+                private Map.Entry<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    last = it.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) throw new IllegalStateException();
+                    ConcurrentLRUCache.this.remove(last.getKey(), last.getValue());
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentLRUCache.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentLRUCache.this.clear();
+        }
+    }
+
+    private static final class Segment<K, V> {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<K, V> map;
+
+        Segment(ConcurrentLRUCache<K, V> owner, int capacity) {
+            this.map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return owner.removeEldestEntry(eldest, size(), capacity);
+                }
+            };
+        }
+    }
+}
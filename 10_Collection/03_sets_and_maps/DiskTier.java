@@ -0,0 +1,364 @@
+package com.skillsoft.collections;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped store of Integer to String entries used as a second cache tier.
+ *
+ * Files are named segment-NNNNNNNNNN.dat and are pre-sized and mapped once. Each record is
+ * <pre>
+ *   int key | int valueLength (-1 = removed) | int valueCrc | int headerCrc | UTF-8 value bytes
+ * </pre>
+ * The header has its own checksum, so open() rebuilds the key index by hopping from header
+ * to header without reading or decoding any value. A value is only checked against its CRC
+ * when it is read, and a torn record at the end of the last segment is simply ignored.
+ *
+ * When a segment fills up, a new one is started, and the sealed segment with the highest
+ * share of stale bytes is compacted if at least half of it is stale: its live records (and
+ * any tombstones that still shadow an older segment) are copied forward and the file is
+ * deleted. The files together are kept under maxBytes, 16 segments by default: past that,
+ * stale segments are compacted first and then the oldest segment is dropped with whatever
+ * it still holds, the way a cache evicts its coldest entries. Data is flushed to disk on
+ * close() and force(); this is a cache, so losing the latest writes in a crash is acceptable.
+ * Not thread-safe.
+ */
+public class DiskTier implements Closeable {
+
+    private static final int HEADER_BYTES = 16;
+    private static final int TOMBSTONE = -1;
+    private static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final int DEFAULT_MAX_SEGMENTS = 16;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".dat";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    // Location = segment id in the high 32 bits, record offset in the low 32 bits.
+    private final Map<Integer, Long> index = new HashMap<>();
+    private Segment active;
+
+    private DiskTier(Path directory, int segmentBytes, long maxBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    public static DiskTier open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    public static DiskTier open(Path directory, int segmentBytes) throws IOException {
+        return open(directory, segmentBytes, (long) DEFAULT_MAX_SEGMENTS * segmentBytes);
+    }
+
+    /**
+     * Opens (or creates) the store in the directory and rebuilds the index from its segments.
+     * If the files already exceed maxBytes, the oldest entries are dropped right away.
+     */
+    public static DiskTier open(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        if (segmentBytes < 4096) throw new IllegalArgumentException("segmentBytes too small: " + segmentBytes);
+        if (maxBytes < 2L * segmentBytes) throw new IllegalArgumentException("maxBytes must hold two segments: " + maxBytes);
+        Files.createDirectories(directory);
+        DiskTier tier = new DiskTier(directory, segmentBytes, maxBytes);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int id = Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                tier.segments.put(id, Segment.map(file, id, Math.max(segmentBytes, (int) Files.size(file))));
+            }
+        }
+        for (Segment segment : tier.segments.values()) {
+            tier.replay(segment);
+        }
+        tier.active = tier.segments.isEmpty() ? tier.newSegment(1) : tier.segments.lastEntry().getValue();
+        tier.compact();
+        return tier;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean containsKey(int key) {
+        return index.containsKey(key);
+    }
+
+    /** Returns the stored value, or null if the key is absent or its record fails the checksum. */
+    public String get(int key) {
+        Long location = index.get(key);
+        if (location == null) return null;
+        Segment segment = segments.get((int) (location >>> 32));
+        int offset = (int) (long) location;
+        ByteBuffer buffer = segment.buffer;
+        int length = buffer.getInt(offset + 4);
+        int valueCrc = buffer.getInt(offset + 8);
+        byte[] bytes = new byte[length];
+        buffer.get(offset + HEADER_BYTES, bytes);
+        if (crc(bytes, 0, length) != valueCrc) {
+            index.remove(key);
+            return null;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Appends the entry; returns false if the value is too large to fit in a segment. */
+    public boolean put(int key, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (HEADER_BYTES + bytes.length > segmentBytes) return false;
+        long location = append(key, bytes.length, bytes);
+        markStale(index.put(key, location));
+        return true;
+    }
+
+    public void remove(int key) {
+        Long old = index.remove(key);
+        if (old == null) return;
+        markStale(old);
+        append(key, TOMBSTONE, null);
+    }
+
+    /** Deletes every segment file and starts over with an empty store. */
+    public void clear() {
+        index.clear();
+        try {
+            for (Segment segment : segments.values()) {
+                Files.deleteIfExists(segment.file);
+            }
+            segments.clear();
+            active = newSegment(1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Total size of the segment files; never more than maxBytes once a segment has rolled over. */
+    public long diskBytes() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.buffer.capacity();
+        }
+        return bytes;
+    }
+
+    /** Writes all mapped pages back to their files. */
+    public void force() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+        segments.clear();
+        index.clear();
+    }
+
+    private void replay(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + HEADER_BYTES <= buffer.capacity()) {
+            int key = buffer.getInt(offset);
+            int length = buffer.getInt(offset + 4);
+            int valueCrc = buffer.getInt(offset + 8);
+            int headerCrc = buffer.getInt(offset + 12);
+            if (headerCrc != headerCrc(key, length, valueCrc)) break;
+            int recordBytes = HEADER_BYTES + Math.max(length, 0);
+            if (length < TOMBSTONE || offset + recordBytes > buffer.capacity()) break;
+
+            long location = ((long) segment.id << 32) | offset;
+            if (length == TOMBSTONE) {
+                markStale(index.remove(key));
+            } else {
+                segment.liveBytes += recordBytes;
+                markStale(index.put(key, location));
+            }
+            offset += recordBytes;
+        }
+        segment.writeOffset = offset;
+    }
+
+    private long append(int key, int length, byte[] bytes) {
+        int recordBytes = HEADER_BYTES + Math.max(length, 0);
+        if (active.writeOffset + recordBytes > active.buffer.capacity()) roll();
+
+        ByteBuffer buffer = active.buffer;
+        int offset = active.writeOffset;
+        int valueCrc = (bytes == null) ? 0 : crc(bytes, 0, bytes.length);
+        if (bytes != null) buffer.put(offset + HEADER_BYTES, bytes);
+        buffer.putInt(offset, key);
+        buffer.putInt(offset + 4, length);
+        buffer.putInt(offset + 8, valueCrc);
+        // Header checksum last: a record only becomes visible to replay once it is complete.
+        buffer.putInt(offset + 12, headerCrc(key, length, valueCrc));
+        active.writeOffset += recordBytes;
+        if (length != TOMBSTONE) active.liveBytes += recordBytes;
+        return ((long) active.id << 32) | offset;
+    }
+
+    private void markStale(Long location) {
+        if (location == null) return;
+        Segment segment = segments.get((int) (location >>> 32));
+        int length = segment.buffer.getInt((int) (long) location + 4);
+        segment.liveBytes -= HEADER_BYTES + length;
+    }
+
+    private void roll() {
+        try {
+            active.buffer.force();
+            active = newSegment(active.id + 1);
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compacts the stalest sealed segment if at least half of it is stale, then, while the
+     * files exceed maxBytes, compacts the next stalest one or, if none is wasteful enough,
+     * drops the oldest segment.
+     */
+    private void compact() throws IOException {
+        Segment stalest = stalest();
+        if (stalest != null && isWasteful(stalest)) evacuate(stalest);
+        while (diskBytes() > maxBytes && segments.size() > 1) {
+            stalest = stalest();
+            if (!isWasteful(stalest) || !evacuate(stalest)) drop(segments.firstEntry().getValue());
+        }
+    }
+
+    /** The sealed segment with the lowest share of live bytes, or null if only the active one exists. */
+    private Segment stalest() {
+        Segment stalest = null;
+        for (Segment segment : segments.values()) {
+            if (segment == active) continue;
+            // live / written, compared by cross-multiplying to stay in integers.
+            if (stalest == null || segment.liveBytes * stalest.writeOffset < stalest.liveBytes * segment.writeOffset) {
+                stalest = segment;
+            }
+        }
+        return stalest;
+    }
+
+    private static boolean isWasteful(Segment segment) {
+        return segment.liveBytes * 2 <= segment.writeOffset;
+    }
+
+    /**
+     * Copies the live records of the segment forward and deletes its file. Tombstones are kept
+     * while an older segment exists, since it may still hold a record they remove. Returns false,
+     * changing nothing, if the copies would not fit in the active segment without rolling again.
+     */
+    private boolean evacuate(Segment segment) throws IOException {
+        boolean keepTombstones = segments.firstKey() < segment.id;
+        ByteBuffer buffer = segment.buffer;
+        List<Integer> carried = new ArrayList<>();
+        long carriedBytes = 0;
+        int offset = 0;
+        while (offset < segment.writeOffset) {
+            int key = buffer.getInt(offset);
+            int length = buffer.getInt(offset + 4);
+            int recordBytes = HEADER_BYTES + Math.max(length, 0);
+            Long location = index.get(key);
+            boolean carry = (length == TOMBSTONE)
+                    ? keepTombstones && location == null
+                    : location != null && location == (((long) segment.id << 32) | offset);
+            if (carry) {
+                carried.add(offset);
+                carriedBytes += recordBytes;
+            }
+            offset += recordBytes;
+        }
+        if (active.writeOffset + carriedBytes > active.buffer.capacity()) return false;
+
+        for (int recordOffset : carried) {
+            int key = buffer.getInt(recordOffset);
+            int length = buffer.getInt(recordOffset + 4);
+            if (length == TOMBSTONE) {
+                append(key, TOMBSTONE, null);
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(recordOffset + HEADER_BYTES, bytes);
+            // A corrupt value must not be copied under a fresh, valid checksum.
+            if (crc(bytes, 0, length) != buffer.getInt(recordOffset + 8)) {
+                index.remove(key);
+                continue;
+            }
+            index.put(key, append(key, length, bytes));
+        }
+        delete(segment);
+        return true;
+    }
+
+    /** Deletes the oldest segment together with the entries whose current record is in it. */
+    private void drop(Segment oldest) throws IOException {
+        index.values().removeIf(location -> (int) (location >>> 32) == oldest.id);
+        delete(oldest);
+    }
+
+    private void delete(Segment segment) throws IOException {
+        segments.remove(segment.id);
+        Files.deleteIfExists(segment.file);
+    }
+
+    private Segment newSegment(int id) throws IOException {
+        Path file = directory.resolve(String.format("%s%010d%s", PREFIX, id, SUFFIX));
+        Segment segment = Segment.map(file, id, segmentBytes);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static int headerCrc(int key, int length, int valueCrc) {
+        ByteBuffer header = ByteBuffer.allocate(12).putInt(key).putInt(length).putInt(valueCrc);
+        int crc = crc(header.array(), 0, 12);
+        // Never 0, so the zero-filled tail of a pre-sized segment can not look like a record.
+        return (crc == 0) ? 1 : crc;
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        final Path file;
+        final int id;
+        final MappedByteBuffer buffer;
+        int writeOffset;
+        long liveBytes;
+
+        private Segment(Path file, int id, MappedByteBuffer buffer) {
+            this.file = file;
+            this.id = id;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path file, int id, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed.
+                return new Segment(file, id, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+    }
+}
@@ -0,0 +1,644 @@
+package com.skillsoft.collections;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Map that survives restarts: every change goes to a write-ahead log before put() returns.
+ *
+ * Files in the directory are wal-NNNNNNNNNN.log and snapshot-NNNNNNNNNN.dat. Log records are
+ * <pre>
+ *   int payloadLength | int payloadCrc | byte op (put, remove, clear) | int keyLength | key | value
+ * </pre>
+ * - Group commit: writers append records to a shared buffer; whichever thread finds no flush in
+ *   progress writes the whole buffer and calls fsync once, for every writer waiting on it.
+ *   Writers that arrive during that fsync are covered by the next one.
+ * - Once the log passes snapshotEveryBytes, the next writer switches to a new log generation
+ *   and writes every entry to snapshot-G (temporary file, fsync, atomic rename). The older
+ *   logs and snapshots are then deleted.
+ * - open() loads the newest valid snapshot and replays the logs from its generation on. A torn
+ *   record at the end of the last log, from a crash mid-write, is cut off; damage anywhere
+ *   else fails with an IOException rather than silently losing later records. That includes
+ *   a damaged newest snapshot: the logs needed to rebuild it from an older one are already gone.
+ *
+ * Contents are held in a ConcurrentHashMap, so reads never touch the disk or the lock. A
+ * change is visible to readers as soon as it is logged and put() returns once it is on disk.
+ * Keys and values are turned into bytes by a Codec and must not change after they are put.
+ * Null keys and values are not allowed. Thread-safe, but only one DurableMap may use a
+ * directory at a time. If a write to the log fails, the map refuses every later change
+ * instead of diverging from its log.
+ *
+ * <pre>
+ *     try (DurableMap&lt;Integer, String&gt; actors = DurableMap.open(dir, Codec.INTEGER, Codec.STRING)) {
+ *         actors.put(1001, "Tom Hanks");   // on disk when put() returns
+ *     }
+ * </pre>
+ */
+public class DurableMap<K, V> extends AbstractMap<K, V> implements Closeable {
+
+    /** Converts keys or values to bytes and back. */
+    public interface Codec<T> {
+        Codec<String> STRING = new Codec<String>() {
+            @Override
+            public byte[] encode(String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+
+        Codec<Integer> INTEGER = new Codec<Integer>() {
+            @Override
+            public byte[] encode(Integer value) {
+                return ByteBuffer.allocate(4).putInt(value).array();
+            }
+
+            @Override
+            public Integer decode(byte[] bytes) {
+                return ByteBuffer.wrap(bytes).getInt();
+            }
+        };
+
+        byte[] encode(T value);
+
+        T decode(byte[] bytes);
+    }
+
+    private static final int MAGIC = 0x444d4150; // "DMAP"
+    private static final int RECORD_HEADER = 8;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+    private static final long DEFAULT_SNAPSHOT_EVERY_BYTES = 16L * 1024 * 1024;
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final long snapshotEveryBytes;
+    private final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>();
+
+    // Guards everything below. The fsync itself runs without it, with flushing = true.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    private FileChannel log;
+    private long generation;
+    private volatile long logBytes;
+    private IOException failure;
+    private boolean closed;
+
+    private long writeCount;
+    private long syncCount;
+    private long snapshotCount;
+
+    private DurableMap(Path directory, Codec<K> keyCodec, Codec<V> valueCodec, long snapshotEveryBytes) {
+        this.directory = directory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.snapshotEveryBytes = snapshotEveryBytes;
+    }
+
+    public static <K, V> DurableMap<K, V> open(Path directory, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        return open(directory, keyCodec, valueCodec, DEFAULT_SNAPSHOT_EVERY_BYTES);
+    }
+
+    /** Opens (or creates) the map in the directory, recovering its contents from snapshot and log. */
+    public static <K, V> DurableMap<K, V> open(Path directory, Codec<K> keyCodec, Codec<V> valueCodec,
+                                               long snapshotEveryBytes) throws IOException {
+        if (snapshotEveryBytes < 4096) throw new IllegalArgumentException("snapshotEveryBytes too small: " + snapshotEveryBytes);
+        Files.createDirectories(directory);
+        DurableMap<K, V> durable = new DurableMap<>(directory, Objects.requireNonNull(keyCodec, "keyCodec"),
+                Objects.requireNonNull(valueCodec, "valueCodec"), snapshotEveryBytes);
+        durable.recover();
+        return durable;
+    }
+
+    // ---------------------------------------------------------------- Map
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        byte[] keyBytes = keyCodec.encode(Objects.requireNonNull(key, "key"));
+        byte[] valueBytes = valueCodec.encode(Objects.requireNonNull(value, "value"));
+        V old;
+        long seq;
+        lock.lock();
+        try {
+            checkWritable();
+            old = map.put(key, value);
+            seq = append(PUT, keyBytes, valueBytes);
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+        return old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        V old;
+        long seq;
+        lock.lock();
+        try {
+            checkWritable();
+            old = map.remove(key);
+            if (old == null) return null;
+            @SuppressWarnings("unchecked")
+            byte[] keyBytes = keyCodec.encode((K) key);
+            seq = append(REMOVE, keyBytes, null);
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+        return old;
+    }
+
+    /** Logs every entry, then waits for a single fsync covering all of them. */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> source) {
+        long seq = 0;
+        lock.lock();
+        try {
+            checkWritable();
+            for (Map.Entry<? extends K, ? extends V> e : source.entrySet()) {
+                byte[] keyBytes = keyCodec.encode(Objects.requireNonNull(e.getKey(), "key"));
+                byte[] valueBytes = valueCodec.encode(Objects.requireNonNull(e.getValue(), "value"));
+                map.put(e.getKey(), e.getValue());
+                seq = append(PUT, keyBytes, valueBytes);
+            }
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+    }
+
+    @Override
+    public void clear() {
+        long seq;
+        lock.lock();
+        try {
+            checkWritable();
+            map.clear();
+            seq = append(CLEAR, null, null);
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(seq);
+    }
+
+    /** Iteration is weakly consistent, as for ConcurrentHashMap; remove() and setValue() are logged. */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                Iterator<Map.Entry<K, V>> entries = map.entrySet().iterator();
+                return new Iterator<Map.Entry<K, V>>() {
+                    private K lastKey;
+
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        Map.Entry<K, V> e = entries.next();
+                        lastKey = e.getKey();
+                        return new SimpleEntry<K, V>(e) {
+                            @Override
+                            public V setValue(V value) {
+                                super.setValue(value);
+                                return put(getKey(), value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (lastKey == null) throw new IllegalStateException();
+                        DurableMap.this.remove(lastKey);
+                        lastKey = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+
+    // ---------------------------------------------------------------- durability
+
+    /**
+     * Starts a new log generation, writes every entry to a snapshot for it, and deletes the
+     * older logs and snapshots. Also runs by itself once the log passes snapshotEveryBytes.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /** Flushes and closes the log; reads keep working, changes throw IllegalStateException. */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            try {
+                awaitDurableLocked(appendedSeq);
+            } finally {
+                // Even when the log failed earlier and the wait throws, the channel must not leak.
+                closed = true;
+                log.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Records appended to the log since open(). */
+    public long writeCount() {
+        lock.lock();
+        try {
+            return writeCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** fsync calls on the log since open(); with group commit usually far fewer than writes. */
+    public long syncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long snapshotCount() {
+        lock.lock();
+        try {
+            return snapshotCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkWritable() {
+        if (closed) throw new IllegalStateException("DurableMap is closed");
+        if (failure != null) throw new IllegalStateException("write-ahead log failed earlier", failure);
+    }
+
+    /** Adds one record to the pending buffer; returns its sequence number. Lock held. */
+    private long append(byte op, byte[] key, byte[] value) {
+        int keyLength = (key == null) ? 0 : key.length;
+        int valueLength = (value == null) ? 0 : value.length;
+        ByteBuffer payload = ByteBuffer.allocate(5 + keyLength + valueLength);
+        payload.put(op).putInt(keyLength);
+        if (key != null) payload.put(key);
+        if (value != null) payload.put(value);
+        byte[] bytes = payload.array();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER).putInt(bytes.length).putInt(crc(bytes, 0, bytes.length));
+        pending.write(header.array(), 0, RECORD_HEADER);
+        pending.write(bytes, 0, bytes.length);
+        writeCount++;
+        return ++appendedSeq;
+    }
+
+    private void awaitDurable(long seq) {
+        lock.lock();
+        try {
+            awaitDurableLocked(seq);
+        } finally {
+            lock.unlock();
+        }
+        if (logBytes >= snapshotEveryBytes && snapshotLock.tryLock()) {
+            try {
+                if (logBytes >= snapshotEveryBytes) writeSnapshot();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                snapshotLock.unlock();
+            }
+        }
+    }
+
+    /** Returns once record seq is on disk, leading a flush if nobody else is. Lock held. */
+    private void awaitDurableLocked(long seq) {
+        while (durableSeq < seq) {
+            if (failure != null) throw new UncheckedIOException(failure);
+            if (flushing) {
+                flushed.awaitUninterruptibly();
+            } else {
+                flushPending();
+            }
+        }
+    }
+
+    /** Writes the whole pending buffer and fsyncs once, with the lock released meanwhile. Lock held. */
+    private void flushPending() {
+        flushing = true;
+        ByteArrayOutputStream batch = pending;
+        pending = new ByteArrayOutputStream();
+        long target = appendedSeq;
+        FileChannel channel = log;
+        IOException error = null;
+        lock.unlock();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            lock.lock();
+        }
+        flushing = false;
+        if (error == null) {
+            durableSeq = target;
+            logBytes += batch.size();
+            syncCount++;
+        } else {
+            failure = error;
+        }
+        flushed.signalAll();
+    }
+
+    private void writeSnapshot() throws IOException {
+        long snapshotGeneration;
+        Object[] entries;
+        lock.lock();
+        try {
+            checkWritable();
+            // Everything logged so far must be in the old generation before the switch.
+            while (flushing || durableSeq < appendedSeq) {
+                awaitDurableLocked(appendedSeq);
+            }
+            log.close();
+            generation++;
+            log = openLog(generation);
+            logBytes = 0;
+            snapshotGeneration = generation;
+            entries = map.entrySet().toArray();
+        } finally {
+            lock.unlock();
+        }
+
+        Path file = directory.resolve(name(SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(entries.length);
+            for (Object o : entries) {
+                @SuppressWarnings("unchecked")
+                Map.Entry<K, V> e = (Map.Entry<K, V>) o;
+                byte[] key = keyCodec.encode(e.getKey());
+                byte[] value = valueCodec.encode(e.getValue());
+                out.writeInt(key.length);
+                out.write(key);
+                out.writeInt(value.length);
+                out.write(value);
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+
+        // The snapshot is durable: what came before it is no longer needed.
+        for (Map.Entry<Long, Path> e : list(LOG_PREFIX, LOG_SUFFIX).headMap(snapshotGeneration).entrySet()) {
+            Files.deleteIfExists(e.getValue());
+        }
+        for (Map.Entry<Long, Path> e : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headMap(snapshotGeneration).entrySet()) {
+            Files.deleteIfExists(e.getValue());
+        }
+        lock.lock();
+        try {
+            snapshotCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- recovery
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, SNAPSHOT_PREFIX + "*.tmp")) {
+            for (Path file : leftovers) {
+                Files.deleteIfExists(file);
+            }
+        }
+        // Newest snapshot that checks out; a damaged one falls back to its predecessor.
+        long base = 0;
+        boolean rejected = false;
+        for (Map.Entry<Long, Path> e : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).descendingMap().entrySet()) {
+            if (loadSnapshot(e.getValue())) {
+                base = e.getKey();
+                break;
+            }
+            rejected = true;
+            map.clear();
+        }
+
+        TreeMap<Long, Path> logs = list(LOG_PREFIX, LOG_SUFFIX);
+        long last = logs.isEmpty() ? base : Math.max(base, logs.lastKey());
+        // The fallback only works while the logs after the older base still exist; a newer snapshot
+        // deletes them, and replaying what is left would silently drop everything in between.
+        if (base > 0 || rejected || !logs.isEmpty()) {
+            for (long g = base; g <= last; g++) {
+                if (!logs.containsKey(g)) {
+                    throw new IOException("write-ahead log " + name(LOG_PREFIX, g, LOG_SUFFIX) + " is missing"
+                            + (rejected ? " and the newest snapshot is damaged" : ""));
+                }
+            }
+        }
+        for (Map.Entry<Long, Path> e : logs.tailMap(base, true).entrySet()) {
+            Path file = e.getValue();
+            long validBytes = replay(file);
+            if (validBytes < Files.size(file)) {
+                if (e.getKey() != last) throw new IOException("corrupt write-ahead log: " + file);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(validBytes);
+                    channel.force(true);
+                }
+            }
+        }
+        for (Path file : logs.headMap(base).values()) {
+            Files.deleteIfExists(file);
+        }
+        for (Path file : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headMap(base).values()) {
+            Files.deleteIfExists(file);
+        }
+        generation = last;
+        log = openLog(generation);
+        logBytes = log.size();
+    }
+
+    private boolean loadSnapshot(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < 12) return false;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt(bytes.length - 4) != crc(bytes, 0, bytes.length - 4)) return false;
+        if (buffer.getInt() != MAGIC) return false;
+        try {
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+                byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                map.put(keyCodec.decode(key), valueCodec.decode(value));
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false; // lengths that do not fit: damaged despite the matching checksum
+        }
+    }
+
+    /** Applies every intact record of the log; returns the length of the intact prefix. */
+    private long replay(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int offset = 0;
+        while (offset + RECORD_HEADER <= bytes.length) {
+            int length = buffer.getInt(offset);
+            int payloadCrc = buffer.getInt(offset + 4);
+            int start = offset + RECORD_HEADER;
+            if (length < 5 || length > bytes.length - start) break;
+            if (crc(bytes, start, length) != payloadCrc) break;
+
+            byte op = bytes[start];
+            int keyLength = buffer.getInt(start + 1);
+            int valueStart = start + 5 + keyLength;
+            int end = start + length;
+            if (op == CLEAR) {
+                map.clear();
+            } else if (op == PUT) {
+                map.put(keyCodec.decode(slice(bytes, start + 5, valueStart)), valueCodec.decode(slice(bytes, valueStart, end)));
+            } else if (op == REMOVE) {
+                map.remove(keyCodec.decode(slice(bytes, start + 5, valueStart)));
+            } else {
+                break;
+            }
+            offset = end;
+        }
+        return offset;
+    }
+
+    // ---------------------------------------------------------------- files
+
+    private FileChannel openLog(long logGeneration) throws IOException {
+        Path file = directory.resolve(name(LOG_PREFIX, logGeneration, LOG_SUFFIX));
+        boolean created = !Files.exists(file);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        // A new file's directory entry must be durable too, or fsync'ed records could vanish with it.
+        if (created) syncDirectory();
+        return channel;
+    }
+
+    /** Files of one kind by generation number. */
+    private TreeMap<Long, Path> list(String prefix, String suffix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())), file);
+            }
+        }
+        return files;
+    }
+
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms can not open or sync a directory; the rename is still atomic there.
+        }
+    }
+
+    private static String name(String prefix, long fileGeneration, String suffix) {
+        return String.format("%s%010d%s", prefix, fileGeneration, suffix);
+    }
+
+    private static byte[] slice(byte[] bytes, int from, int to) {
+        byte[] out = new byte[to - from];
+        System.arraycopy(bytes, from, out, 0, out.length);
+        return out;
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
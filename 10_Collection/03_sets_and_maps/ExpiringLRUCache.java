@@ -0,0 +1,302 @@
+package com.skillsoft.collections;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * LRUCache with time-to-live support.
+ *
+ * - expireAfterWrite: an entry expires a fixed time after it was last written.
+ * - expireAfterAccess: the clock restarts every time the entry is read or written.
+ * - put(key, value, ttl) overrides the cache-wide duration for a single entry.
+ * - Capacity eviction still uses a LinkedHashMap and removeEldestEntry. The map is kept in
+ *   insertion order and get()/put() move the entry to the end themselves, so containsKey()
+ *   can check an entry without making it the most recently used.
+ *
+ * Expiry is driven by a TimerWheel rather than by scanning the map. An expired entry is
+ * dropped as soon as it is accessed, and cleanUp() reclaims everything that is due in one
+ * batch. cleanUp() runs on every write and every 64 reads, so no sweeper thread is needed.
+ * The wheel works in ticks of about one second, so size() may still count entries that
+ * expired since the last tick; get(), containsKey() and iteration never return them.
+ * Like LRUCache this class is not thread-safe.
+ */
+public class ExpiringLRUCache<K, V> extends AbstractMap<K, V> {
+
+    public enum Expiry { AFTER_WRITE, AFTER_ACCESS }
+
+    private static final int MAX_ENTRIES = 5;
+    private static final long NO_EXPIRY = -1L;
+    private static final int READS_PER_CLEANUP = 64;
+
+    private final LinkedHashMap<K, Node<K, V>> data;
+    private final TimerWheel timerWheel;
+    private final LongSupplier ticker;
+    private final long origin;
+    private final Expiry expiry;
+    private final long defaultTtlNanos;
+    private int readCount;
+
+    private ExpiringLRUCache(Builder builder) {
+        int maxEntries = builder.maximumSize;
+        this.data = new LinkedHashMap<K, Node<K, V>>(16, 0.75f, false) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Node<K, V>> eldest) {
+                if (size() <= maxEntries) return false;
+                timerWheel.deschedule(eldest.getValue());
+                return true;
+            }
+        };
+        this.ticker = builder.ticker;
+        this.origin = ticker.getAsLong();
+        this.expiry = builder.expiry;
+        this.defaultTtlNanos = builder.ttlNanos;
+        this.timerWheel = new TimerWheel(0L);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Node<K, V> node = data.get(key);
+        return (node != null) && !node.isExpired(now());
+    }
+
+    @Override
+    public V get(Object key) {
+        long now = now();
+        Node<K, V> node = data.get(key);
+        V value = null;
+        if (node != null) {
+            if (node.isExpired(now)) {
+                removeNode(node);
+            } else {
+                if (expiry == Expiry.AFTER_ACCESS) refreshExpiry(node, now);
+                touch(node);
+                value = node.value;
+            }
+        }
+        if (++readCount >= READS_PER_CLEANUP) cleanUp(now);
+        return value;
+    }
+
+    /** Stores the value using the cache-wide time-to-live, if any. */
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, defaultTtlNanos);
+    }
+
+    /** Stores the value with its own time-to-live instead of the cache-wide one. */
+    public V put(K key, V value, Duration ttl) {
+        return put(key, value, toNanos(ttl));
+    }
+
+    private V put(K key, V value, long ttlNanos) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        long now = now();
+        cleanUp(now);
+
+        Node<K, V> node = data.get(key);
+        V old = null;
+        if (node == null) {
+            node = new Node<>(key, value, ttlNanos);
+            data.put(key, node);
+        } else {
+            // An entry the wheel has not reclaimed yet is already gone as far as callers can tell.
+            if (!node.isExpired(now)) old = node.value;
+            touch(node);
+            node.value = value;
+            node.ttlNanos = ttlNanos;
+        }
+        refreshExpiry(node, now);
+        return old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) return null;
+        timerWheel.deschedule(node);
+        return node.isExpired(now()) ? null : node.value;
+    }
+
+    @Override
+    public void clear() {
+        for (Node<K, V> node : data.values()) {
+            timerWheel.deschedule(node);
+        }
+        data.clear();
+    }
+
+    /** Reclaims every entry that has expired by now; cost is proportional to the expired entries. */
+    public void cleanUp() {
+        cleanUp(now());
+    }
+
+    private void cleanUp(long now) {
+        readCount = 0;
+        timerWheel.advance(now, timer -> {
+            @SuppressWarnings("unchecked")
+            Node<K, V> node = (Node<K, V>) timer;
+            data.remove(node.key, node);
+        });
+    }
+
+    private void refreshExpiry(Node<K, V> node, long now) {
+        if (node.ttlNanos == NO_EXPIRY) {
+            node.time = Long.MAX_VALUE;
+            timerWheel.deschedule(node);
+        } else {
+            node.time = now + node.ttlNanos;
+            timerWheel.schedule(node);
+        }
+    }
+
+    // Re-inserting moves the entry to the most recently used end without changing the size.
+    private void touch(Node<K, V> node) {
+        data.remove(node.key);
+        data.put(node.key, node);
+    }
+
+    private void removeNode(Node<K, V> node) {
+        data.remove(node.key, node);
+        timerWheel.deschedule(node);
+    }
+
+    private long now() {
+        return ticker.getAsLong() - origin;
+    }
+
+    private static long toNanos(Duration ttl) {
+        if (ttl == null) return NO_EXPIRY;
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        return ttl.toNanos();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /** Live entries in least to most recently used order; expired entries are skipped. */
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            long now = now();
+            // Iterate a copy so remove() and lazy expiry cannot invalidate the iteration.
+            Iterator<Node<K, V>> it = new ArrayList<>(data.values()).iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+                private Node<K, V> nextNode = advance();
+                private Node<K, V> last;
+
+                private Node<K, V> advance() {
+                    while (it.hasNext()) {
+                        Node<K, V> node = it.next();
+                        if (!node.isExpired(now)) return node;
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return nextNode != null;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (nextNode == null) throw new NoSuchElementException();
+                    last = nextNode;
+                    nextNode = advance();
+                    return new SimpleImmutableEntry<>(last.key, last.value);
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) throw new IllegalStateException();
+                    ExpiringLRUCache.this.removeNode(last);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return data.size();
+        }
+    }
+
+    private static final class Node<K, V> extends TimerWheel.Timer {
+        final K key;
+        V value;
+        long ttlNanos;
+
+        Node(K key, V value, long ttlNanos) {
+            this.key = key;
+            this.value = value;
+            this.ttlNanos = ttlNanos;
+            this.time = Long.MAX_VALUE;
+        }
+
+        boolean isExpired(long now) {
+            return ttlNanos != NO_EXPIRY && now - time >= 0;
+        }
+    }
+
+    public static final class Builder {
+
+        private int maximumSize = MAX_ENTRIES;
+        private Expiry expiry = Expiry.AFTER_WRITE;
+        private long ttlNanos = NO_EXPIRY;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder expireAfterWrite(Duration ttl) {
+            this.expiry = Expiry.AFTER_WRITE;
+            this.ttlNanos = toNanos(Objects.requireNonNull(ttl, "ttl"));
+            return this;
+        }
+
+        public Builder expireAfterAccess(Duration ttl) {
+            this.expiry = Expiry.AFTER_ACCESS;
+            this.ttlNanos = toNanos(Objects.requireNonNull(ttl, "ttl"));
+            return this;
+        }
+
+        /** Time source in nanoseconds; System.nanoTime by default, replaceable for demos and tests. */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker, "ticker");
+            return this;
+        }
+
+        public <K, V> ExpiringLRUCache<K, V> build() {
+            return new ExpiringLRUCache<>(this);
+        }
+    }
+}
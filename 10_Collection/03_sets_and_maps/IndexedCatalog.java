@@ -0,0 +1,221 @@
+package com.skillsoft.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * In-memory store of records with a primary key and any number of secondary indexes.
+ *
+ * - The primary index is a HashMap from key to record; put() replaces a record with the same key.
+ * - addHashIndex(attribute) answers "attribute = value" from a HashMap of value to records.
+ * - addSortedIndex(attribute) answers "from &lt;= attribute &lt;= to" from a TreeMap of value to records.
+ * - Every put() and remove() updates each index in O(1) (hash) or O(log n) (sorted);
+ *   an index added to a non-empty catalog is filled from the existing records once.
+ *
+ * Attributes are read with a Function, e.g. Product::getCategory, and must not change while the
+ * record is in the catalog. Records whose attribute is null are not listed in that index.
+ * Like LRUCache this class is not thread-safe.
+ *
+ * Example:
+ * <pre>
+ * IndexedCatalog&lt;String, Product&gt; catalog = new IndexedCatalog&lt;&gt;(Product::getName);
+ * IndexedCatalog.HashIndex&lt;Product, String&gt; byCategory = catalog.addHashIndex(Product::getCategory);
+ * catalog.put(new Product("iPhone", "Mobiles"));
+ * List&lt;Product&gt; mobiles = byCategory.get("Mobiles");
+ * </pre>
+ */
+public class IndexedCatalog<K, T> implements Iterable<T> {
+
+    private final Function<? super T, ? extends K> primaryKey;
+    private final Map<K, T> primary = new LinkedHashMap<>();
+    private final List<Index<T, ?>> indexes = new ArrayList<>();
+
+    public IndexedCatalog(Function<? super T, ? extends K> primaryKey) {
+        this.primaryKey = Objects.requireNonNull(primaryKey, "primaryKey");
+    }
+
+    /** Declares an equality index on the attribute and returns the handle used to query it. */
+    public <A> HashIndex<T, A> addHashIndex(Function<? super T, ? extends A> attribute) {
+        return register(new HashIndex<>(attribute));
+    }
+
+    /** Declares an ordered index on the attribute and returns the handle used to query it. */
+    public <A extends Comparable<? super A>> SortedIndex<T, A> addSortedIndex(Function<? super T, ? extends A> attribute) {
+        return register(new SortedIndex<>(attribute));
+    }
+
+    public int size() {
+        return primary.size();
+    }
+
+    public boolean isEmpty() {
+        return primary.isEmpty();
+    }
+
+    public boolean containsKey(K key) {
+        return primary.containsKey(key);
+    }
+
+    /** Returns the record with this primary key, or null. */
+    public T get(K key) {
+        return primary.get(key);
+    }
+
+    /** Adds the record, replacing (and unindexing) any record with the same primary key. */
+    public T put(T record) {
+        Objects.requireNonNull(record, "record");
+        K key = Objects.requireNonNull(primaryKey.apply(record), "primary key");
+        T old = primary.put(key, record);
+        for (Index<T, ?> index : indexes) {
+            if (old != null) index.remove(key, old);
+            index.add(key, record);
+        }
+        return old;
+    }
+
+    /** Removes the record with this primary key from the catalog and all indexes. */
+    public T remove(K key) {
+        T old = primary.remove(key);
+        if (old == null) return null;
+        for (Index<T, ?> index : indexes) {
+            index.remove(key, old);
+        }
+        return old;
+    }
+
+    public void clear() {
+        primary.clear();
+        for (Index<T, ?> index : indexes) {
+            index.clear();
+        }
+    }
+
+    /** Read-only view of all records in insertion order. */
+    public Collection<T> values() {
+        return Collections.unmodifiableCollection(primary.values());
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return values().iterator();
+    }
+
+    private <I extends Index<T, ?>> I register(I index) {
+        for (Map.Entry<K, T> e : primary.entrySet()) {
+            index.add(e.getKey(), e.getValue());
+        }
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Common part of both index kinds: attribute value to the records that have it. Records of one
+     * value are kept by primary key, so removing a record from a large group is O(1).
+     */
+    public abstract static class Index<T, A> {
+        final Function<? super T, ? extends A> attribute;
+        final Map<A, Map<Object, T>> groups;
+
+        Index(Function<? super T, ? extends A> attribute, Map<A, Map<Object, T>> groups) {
+            this.attribute = Objects.requireNonNull(attribute, "attribute");
+            this.groups = groups;
+        }
+
+        void add(Object key, T record) {
+            A value = attribute.apply(record);
+            if (value == null) return;
+            groups.computeIfAbsent(value, v -> new LinkedHashMap<>()).put(key, record);
+        }
+
+        void remove(Object key, T record) {
+            A value = attribute.apply(record);
+            if (value == null) return;
+            Map<Object, T> group = groups.get(value);
+            if (group == null) return;
+            group.remove(key);
+            if (group.isEmpty()) groups.remove(value);
+        }
+
+        void clear() {
+            groups.clear();
+        }
+
+        /** Number of distinct attribute values currently indexed. */
+        public int distinctValues() {
+            return groups.size();
+        }
+
+        /** Returns a new list of the records whose attribute equals the value. */
+        public List<T> get(A value) {
+            Map<Object, T> group = groups.get(value);
+            return (group == null) ? new ArrayList<>() : new ArrayList<>(group.values());
+        }
+
+        /** Number of records whose attribute equals the value, without building a list. */
+        public int count(A value) {
+            Map<Object, T> group = groups.get(value);
+            return (group == null) ? 0 : group.size();
+        }
+    }
+
+    /** Equality lookups in O(1) plus the size of the result. */
+    public static final class HashIndex<T, A> extends Index<T, A> {
+
+        HashIndex(Function<? super T, ? extends A> attribute) {
+            super(attribute, new HashMap<>());
+        }
+    }
+
+    /** Equality and range lookups in O(log n) plus the size of the result. */
+    public static final class SortedIndex<T, A extends Comparable<? super A>> extends Index<T, A> {
+
+        SortedIndex(Function<? super T, ? extends A> attribute) {
+            super(attribute, new TreeMap<>());
+        }
+
+        /** Returns the records with from &lt;= attribute &lt;= to, in attribute order. */
+        public List<T> range(A from, A to) {
+            return collect(sorted().subMap(from, true, to, true));
+        }
+
+        /** Returns the records with attribute &lt; to (or &lt;= to when inclusive), in attribute order. */
+        public List<T> below(A to, boolean inclusive) {
+            return collect(sorted().headMap(to, inclusive));
+        }
+
+        /** Returns the records with attribute &gt; from (or &gt;= from when inclusive), in attribute order. */
+        public List<T> above(A from, boolean inclusive) {
+            return collect(sorted().tailMap(from, inclusive));
+        }
+
+        public A min() {
+            return groups.isEmpty() ? null : sorted().firstKey();
+        }
+
+        public A max() {
+            return groups.isEmpty() ? null : sorted().lastKey();
+        }
+
+        private NavigableMap<A, Map<Object, T>> sorted() {
+            return (NavigableMap<A, Map<Object, T>>) groups;
+        }
+
+        private static <T> List<T> collect(Map<?, Map<Object, T>> groups) {
+            List<T> result = new ArrayList<>();
+            for (Map<Object, T> group : groups.values()) {
+                result.addAll(group.values());
+            }
+            return result;
+        }
+    }
+}
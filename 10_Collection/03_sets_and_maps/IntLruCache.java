@@ -0,0 +1,232 @@
+package com.skillsoft.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * LRU cache keyed by primitive int, without boxing and without a node object per entry.
+ *
+ * - Entries live in parallel arrays (keys, values, prev, next) indexed by a slot number;
+ *   the prev/next arrays form the recency list, oldest entry at the head.
+ * - Lookups go through an open-addressing table (linear probing) that stores slot + 1,
+ *   so 0 marks an empty bucket. Removals use backward-shift deletion, no tombstones.
+ * - A hit only rewrites a few ints: nothing is allocated on get() or on put() of an existing key.
+ * - When the cache is full, put() of a new key reuses the slot of the least recently used entry.
+ *
+ * Per entry this costs three ints plus one reference, and about two more ints of hash table.
+ * Like LRUCache this class is not thread-safe. Null values are not allowed because get()
+ * uses null to report a miss.
+ */
+public class IntLruCache<V> {
+
+    private static final int NONE = -1;
+
+    private final int capacity;
+    private final int[] keys;
+    private final Object[] values;
+    private final int[] prev;
+    private final int[] next;
+    private final int[] table;
+    private final int tableMask;
+
+    private int head = NONE;
+    private int tail = NONE;
+    private int size;
+
+    public IntLruCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        // The table is up to four times the capacity and must stay below 2^31 slots.
+        if (capacity > (1 << 28)) throw new IllegalArgumentException("capacity too large: " + capacity);
+        this.capacity = capacity;
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        // Load factor of at most 0.5 keeps linear probe sequences short.
+        int tableLength = Integer.highestOneBit(capacity) << 2;
+        this.table = new int[tableLength];
+        this.tableMask = tableLength - 1;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return findSlot(key) != NONE;
+    }
+
+    /** Returns the cached value and marks the key as most recently used, or null on a miss. */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = findSlot(key);
+        if (slot == NONE) return null;
+        moveToTail(slot);
+        return (V) values[slot];
+    }
+
+    /** Returns the cached value without touching the recency order, or null on a miss. */
+    @SuppressWarnings("unchecked")
+    public V peek(int key) {
+        int slot = findSlot(key);
+        return (slot == NONE) ? null : (V) values[slot];
+    }
+
+    /** Inserts or replaces the value, evicting the least recently used entry when full. */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "value");
+        int bucket = bucketOf(key);
+        while (table[bucket] != 0) {
+            int slot = table[bucket] - 1;
+            if (keys[slot] == key) {
+                V old = (V) values[slot];
+                values[slot] = value;
+                moveToTail(slot);
+                return old;
+            }
+            bucket = (bucket + 1) & tableMask;
+        }
+
+        int slot;
+        if (size == capacity) {
+            slot = head;
+            evict(slot);
+            // Eviction may have shifted the chain we probed, so look for a free bucket again.
+            bucket = bucketOf(key);
+            while (table[bucket] != 0) bucket = (bucket + 1) & tableMask;
+        } else {
+            slot = size;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        table[bucket] = slot + 1;
+        linkLast(slot);
+        size++;
+        return null;
+    }
+
+    /** Removes the key and returns its value, or null when it was not cached. */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = findSlot(key);
+        if (slot == NONE) return null;
+        V old = (V) values[slot];
+        evict(slot);
+        // Keep slots dense: move the last used slot into the hole so slot == size is always free.
+        int last = size;
+        if (slot != last) relocate(last, slot);
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        Arrays.fill(values, 0, size, null);
+        head = NONE;
+        tail = NONE;
+        size = 0;
+    }
+
+    /** Visits entries from least to most recently used. */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjConsumer<? super V> action) {
+        for (int slot = head; slot != NONE; slot = next[slot]) {
+            action.accept(keys[slot], (V) values[slot]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int slot = head; slot != NONE; slot = next[slot]) {
+            if (slot != head) sb.append(", ");
+            sb.append(keys[slot]).append('=').append(values[slot]);
+        }
+        return sb.append('}').toString();
+    }
+
+    private int findSlot(int key) {
+        int bucket = bucketOf(key);
+        while (table[bucket] != 0) {
+            int slot = table[bucket] - 1;
+            if (keys[slot] == key) return slot;
+            bucket = (bucket + 1) & tableMask;
+        }
+        return NONE;
+    }
+
+    private int bucketOf(int key) {
+        int h = key * 0x9e3779b9;
+        return (h ^ (h >>> 16)) & tableMask;
+    }
+
+    /** Unlinks the slot from the recency list and the hash table; the slot itself becomes garbage. */
+    private void evict(int slot) {
+        unlink(slot);
+        deleteBucket(slot);
+        values[slot] = null;
+        size--;
+    }
+
+    private void deleteBucket(int slot) {
+        int bucket = bucketOf(keys[slot]);
+        while (table[bucket] != slot + 1) bucket = (bucket + 1) & tableMask;
+
+        // Backward-shift deletion: pull later entries of the probe chain into the hole.
+        int hole = bucket;
+        int probe = (hole + 1) & tableMask;
+        while (table[probe] != 0) {
+            int home = bucketOf(keys[table[probe] - 1]);
+            boolean movable = (hole <= probe) ? (home <= hole || home > probe) : (home <= hole && home > probe);
+            if (movable) {
+                table[hole] = table[probe];
+                hole = probe;
+            }
+            probe = (probe + 1) & tableMask;
+        }
+        table[hole] = 0;
+    }
+
+    private void relocate(int from, int to) {
+        int bucket = bucketOf(keys[from]);
+        while (table[bucket] != from + 1) bucket = (bucket + 1) & tableMask;
+        table[bucket] = to + 1;
+
+        keys[to] = keys[from];
+        values[to] = values[from];
+        values[from] = null;
+        prev[to] = prev[from];
+        next[to] = next[from];
+        if (prev[to] == NONE) head = to; else next[prev[to]] = to;
+        if (next[to] == NONE) tail = to; else prev[next[to]] = to;
+    }
+
+    private void moveToTail(int slot) {
+        if (slot == tail) return;
+        unlink(slot);
+        linkLast(slot);
+    }
+
+    private void linkLast(int slot) {
+        prev[slot] = tail;
+        next[slot] = NONE;
+        if (tail == NONE) head = slot; else next[tail] = slot;
+        tail = slot;
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot];
+        int n = next[slot];
+        if (p == NONE) head = n; else next[p] = n;
+        if (n == NONE) tail = p; else prev[n] = p;
+    }
+}
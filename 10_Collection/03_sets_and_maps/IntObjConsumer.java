@@ -0,0 +1,9 @@
+package com.skillsoft.collections;
+
+/**
+ * Receives an int key and its value without boxing the key.
+ */
+@FunctionalInterface
+public interface IntObjConsumer<V> {
+    void accept(int key, V value);
+}
@@ -0,0 +1,445 @@
+package com.skillsoft.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Sorted map from primitive int keys to values, stored as sorted blocks of parallel arrays.
+ *
+ * - Keys are kept in int[] blocks of up to 256 entries; a second int[] holds the first key of
+ *   every block. A lookup is two binary searches over contiguous ints, with no boxed keys and
+ *   no tree nodes to chase.
+ * - Inserting into a full block splits it, and sparse neighbouring blocks are merged on removal.
+ * - headMap/tailMap/subMap return live Range views that copy nothing; a Range's Cursor walks
+ *   the key arrays block by block, so range scans read memory sequentially.
+ *
+ * Methods that would return a missing key in TreeMap (floorKey, ceilingKey, ...) take the
+ * value to return instead, so no Integer is ever created. Not thread-safe.
+ */
+public class IntSortedMap<V> {
+
+    private static final int BLOCK_SIZE = 256;
+    private static final int MERGE_THRESHOLD = BLOCK_SIZE / 4;
+
+    private int[][] keys = new int[8][];
+    private Object[][] values = new Object[8][];
+    private int[] sizes = new int[8];
+    private int[] firstKeys = new int[8];
+    private int blockCount;
+    private int size;
+    private int modCount;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (blockCount == 0) return false;
+        int b = findBlock(key);
+        return Arrays.binarySearch(keys[b], 0, sizes[b], key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (blockCount == 0) return null;
+        int b = findBlock(key);
+        int i = Arrays.binarySearch(keys[b], 0, sizes[b], key);
+        return (i >= 0) ? (V) values[b][i] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (blockCount == 0) insertBlock(0, new int[BLOCK_SIZE], new Object[BLOCK_SIZE], 0);
+        int b = findBlock(key);
+        int i = Arrays.binarySearch(keys[b], 0, sizes[b], key);
+        if (i >= 0) {
+            V old = (V) values[b][i];
+            values[b][i] = value;
+            return old;
+        }
+
+        int insertion = -i - 1;
+        if (sizes[b] == BLOCK_SIZE) {
+            split(b);
+            if (insertion > sizes[b]) {
+                insertion -= sizes[b];
+                b++;
+            }
+        }
+        int n = sizes[b];
+        System.arraycopy(keys[b], insertion, keys[b], insertion + 1, n - insertion);
+        System.arraycopy(values[b], insertion, values[b], insertion + 1, n - insertion);
+        keys[b][insertion] = key;
+        values[b][insertion] = value;
+        sizes[b] = n + 1;
+        firstKeys[b] = keys[b][0];
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (blockCount == 0) return null;
+        int b = findBlock(key);
+        int i = Arrays.binarySearch(keys[b], 0, sizes[b], key);
+        if (i < 0) return null;
+
+        V old = (V) values[b][i];
+        int n = sizes[b] - 1;
+        System.arraycopy(keys[b], i + 1, keys[b], i, n - i);
+        System.arraycopy(values[b], i + 1, values[b], i, n - i);
+        values[b][n] = null;
+        sizes[b] = n;
+        size--;
+        modCount++;
+
+        if (n == 0) {
+            removeBlock(b);
+        } else {
+            firstKeys[b] = keys[b][0];
+            if (n < MERGE_THRESHOLD) mergeWithNeighbour(b);
+        }
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0, blockCount, null);
+        Arrays.fill(values, 0, blockCount, null);
+        blockCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    public int firstKey() {
+        if (size == 0) throw new NoSuchElementException();
+        return keys[0][0];
+    }
+
+    public int lastKey() {
+        if (size == 0) throw new NoSuchElementException();
+        int b = blockCount - 1;
+        return keys[b][sizes[b] - 1];
+    }
+
+    /** Greatest key less than or equal to the given key, or ifAbsent when there is none. */
+    public int floorKey(int key, int ifAbsent) {
+        long position = floor(key);
+        return (position < 0) ? ifAbsent : keyAt(position);
+    }
+
+    /** Least key greater than or equal to the given key, or ifAbsent when there is none. */
+    public int ceilingKey(int key, int ifAbsent) {
+        long position = ceiling(key);
+        return (position < 0) ? ifAbsent : keyAt(position);
+    }
+
+    /** Greatest key strictly less than the given key, or ifAbsent when there is none. */
+    public int lowerKey(int key, int ifAbsent) {
+        if (key == Integer.MIN_VALUE) return ifAbsent;
+        return floorKey(key - 1, ifAbsent);
+    }
+
+    /** Least key strictly greater than the given key, or ifAbsent when there is none. */
+    public int higherKey(int key, int ifAbsent) {
+        if (key == Integer.MAX_VALUE) return ifAbsent;
+        return ceilingKey(key + 1, ifAbsent);
+    }
+
+    /** View of the keys in [fromKey, toKey). */
+    public Range subMap(int fromKey, int toKey) {
+        if (fromKey > toKey) throw new IllegalArgumentException("fromKey > toKey: " + fromKey + " > " + toKey);
+        return new Range(fromKey, toKey);
+    }
+
+    /** View of the keys strictly less than toKey. */
+    public Range headMap(int toKey) {
+        return new Range(Integer.MIN_VALUE, toKey);
+    }
+
+    /** View of the keys greater than or equal to fromKey. */
+    public Range tailMap(int fromKey) {
+        return new Range(fromKey, Integer.MAX_VALUE + 1L);
+    }
+
+    /** View of the whole map. */
+    public Range all() {
+        return new Range(Integer.MIN_VALUE, Integer.MAX_VALUE + 1L);
+    }
+
+    public void forEach(IntObjConsumer<? super V> action) {
+        all().forEach(action);
+    }
+
+    @Override
+    public String toString() {
+        return all().toString();
+    }
+
+    /**
+     * Live, zero-copy view of the entries whose keys fall in [from, to).
+     * Bounds are longs so that Integer.MAX_VALUE can be included.
+     */
+    public final class Range {
+
+        private final long from;
+        private final long to;
+
+        private Range(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public boolean isEmpty() {
+            return !cursor().next();
+        }
+
+        /** Number of entries in the range; counts whole blocks without touching their keys. */
+        public int size() {
+            long start = startPosition();
+            if (start < 0) return 0;
+            long end = endPosition();
+            int startBlock = (int) (start >>> 32);
+            int endBlock = (int) (end >>> 32);
+            int count = 0;
+            for (int b = startBlock; b < endBlock; b++) {
+                count += sizes[b];
+            }
+            return count - (int) start + (int) end;
+        }
+
+        public int firstKey() {
+            Cursor cursor = cursor();
+            if (!cursor.next()) throw new NoSuchElementException();
+            return cursor.key();
+        }
+
+        public int lastKey() {
+            if (to <= Integer.MIN_VALUE) throw new NoSuchElementException();
+            long position = floor((int) (to - 1));
+            if (position < 0 || keyAt(position) < from) throw new NoSuchElementException();
+            return keyAt(position);
+        }
+
+        public boolean containsKey(int key) {
+            return key >= from && key < to && IntSortedMap.this.containsKey(key);
+        }
+
+        public V get(int key) {
+            return (key >= from && key < to) ? IntSortedMap.this.get(key) : null;
+        }
+
+        /** Narrows this view to [fromKey, toKey) intersected with its own bounds. */
+        public Range subMap(int fromKey, int toKey) {
+            if (fromKey > toKey) throw new IllegalArgumentException("fromKey > toKey: " + fromKey + " > " + toKey);
+            return new Range(Math.max(from, fromKey), Math.max(Math.max(from, fromKey), Math.min(to, toKey)));
+        }
+
+        public Range headMap(int toKey) {
+            return new Range(from, Math.max(from, Math.min(to, toKey)));
+        }
+
+        public Range tailMap(int fromKey) {
+            return new Range(Math.min(to, Math.max(from, fromKey)), to);
+        }
+
+        public Cursor cursor() {
+            return new Cursor(startPosition(), to);
+        }
+
+        public void forEach(IntObjConsumer<? super V> action) {
+            Cursor cursor = cursor();
+            while (cursor.next()) {
+                action.accept(cursor.key(), cursor.value());
+            }
+        }
+
+        public void forEachKey(IntConsumer action) {
+            Cursor cursor = cursor();
+            while (cursor.next()) {
+                action.accept(cursor.key());
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("{");
+            Cursor cursor = cursor();
+            boolean first = true;
+            while (cursor.next()) {
+                if (!first) sb.append(", ");
+                sb.append(cursor.key()).append('=').append(cursor.value());
+                first = false;
+            }
+            return sb.append('}').toString();
+        }
+
+        private long startPosition() {
+            if (from > Integer.MAX_VALUE || from >= to) return -1;
+            return ceiling((int) from);
+        }
+
+        // Position just past the last entry in the range, as (block, index) with index possibly == size.
+        private long endPosition() {
+            if (to > Integer.MAX_VALUE) return position(blockCount - 1, sizes[blockCount - 1]);
+            long position = ceiling((int) to);
+            return (position < 0) ? position(blockCount - 1, sizes[blockCount - 1]) : position;
+        }
+    }
+
+    /**
+     * Forward-only cursor over a Range. Call next() before each key()/value(); the cursor
+     * fails fast with ConcurrentModificationException if the map is modified meanwhile.
+     */
+    public final class Cursor {
+
+        private final long to;
+        private final int expectedModCount = modCount;
+        private int block;
+        private int index;
+        private boolean started;
+        private boolean done;
+
+        private Cursor(long start, long to) {
+            this.to = to;
+            if (start < 0) {
+                done = true;
+            } else {
+                block = (int) (start >>> 32);
+                index = (int) start;
+            }
+        }
+
+        public boolean next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (done) return false;
+            if (started) {
+                if (++index == sizes[block]) {
+                    if (++block == blockCount) {
+                        done = true;
+                        return false;
+                    }
+                    index = 0;
+                }
+            }
+            started = true;
+            if (keys[block][index] >= to) {
+                done = true;
+                return false;
+            }
+            return true;
+        }
+
+        public int key() {
+            checkPositioned();
+            return keys[block][index];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V value() {
+            checkPositioned();
+            return (V) values[block][index];
+        }
+
+        private void checkPositioned() {
+            if (!started || done) throw new NoSuchElementException();
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+    }
+
+    // A position packs the block number in the high 32 bits and the index in the low 32 bits.
+    private static long position(int block, int index) {
+        return ((long) block << 32) | index;
+    }
+
+    private int keyAt(long position) {
+        return keys[(int) (position >>> 32)][(int) position];
+    }
+
+    private long floor(int key) {
+        if (blockCount == 0) return -1;
+        int b = findBlock(key);
+        int i = Arrays.binarySearch(keys[b], 0, sizes[b], key);
+        if (i >= 0) return position(b, i);
+        int insertion = -i - 1;
+        if (insertion > 0) return position(b, insertion - 1);
+        // Only block 0 can start above the key, and then nothing is smaller.
+        return -1;
+    }
+
+    private long ceiling(int key) {
+        if (blockCount == 0) return -1;
+        int b = findBlock(key);
+        int i = Arrays.binarySearch(keys[b], 0, sizes[b], key);
+        if (i >= 0) return position(b, i);
+        int insertion = -i - 1;
+        if (insertion < sizes[b]) return position(b, insertion);
+        return (b + 1 < blockCount) ? position(b + 1, 0) : -1;
+    }
+
+    /** Last block whose first key is <= key, or block 0 when the key is below every block. */
+    private int findBlock(int key) {
+        int i = Arrays.binarySearch(firstKeys, 0, blockCount, key);
+        if (i >= 0) return i;
+        int insertion = -i - 1;
+        return Math.max(insertion - 1, 0);
+    }
+
+    private void split(int b) {
+        int half = BLOCK_SIZE / 2;
+        int[] newKeys = new int[BLOCK_SIZE];
+        Object[] newValues = new Object[BLOCK_SIZE];
+        System.arraycopy(keys[b], half, newKeys, 0, BLOCK_SIZE - half);
+        System.arraycopy(values[b], half, newValues, 0, BLOCK_SIZE - half);
+        Arrays.fill(values[b], half, BLOCK_SIZE, null);
+        sizes[b] = half;
+        insertBlock(b + 1, newKeys, newValues, BLOCK_SIZE - half);
+    }
+
+    private void mergeWithNeighbour(int b) {
+        int left = (b > 0 && (b + 1 >= blockCount || sizes[b - 1] <= sizes[b + 1])) ? b - 1 : b;
+        int right = left + 1;
+        if (right >= blockCount || sizes[left] + sizes[right] > BLOCK_SIZE * 3 / 4) return;
+        System.arraycopy(keys[right], 0, keys[left], sizes[left], sizes[right]);
+        System.arraycopy(values[right], 0, values[left], sizes[left], sizes[right]);
+        sizes[left] += sizes[right];
+        removeBlock(right);
+    }
+
+    private void insertBlock(int b, int[] blockKeys, Object[] blockValues, int blockSize) {
+        if (blockCount == keys.length) {
+            int capacity = blockCount * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            firstKeys = Arrays.copyOf(firstKeys, capacity);
+        }
+        int tail = blockCount - b;
+        System.arraycopy(keys, b, keys, b + 1, tail);
+        System.arraycopy(values, b, values, b + 1, tail);
+        System.arraycopy(sizes, b, sizes, b + 1, tail);
+        System.arraycopy(firstKeys, b, firstKeys, b + 1, tail);
+        keys[b] = blockKeys;
+        values[b] = blockValues;
+        sizes[b] = blockSize;
+        firstKeys[b] = (blockSize > 0) ? blockKeys[0] : 0;
+        blockCount++;
+    }
+
+    private void removeBlock(int b) {
+        int tail = blockCount - b - 1;
+        System.arraycopy(keys, b + 1, keys, b, tail);
+        System.arraycopy(values, b + 1, values, b, tail);
+        System.arraycopy(sizes, b + 1, sizes, b, tail);
+        System.arraycopy(firstKeys, b + 1, firstKeys, b, tail);
+        blockCount--;
+        keys[blockCount] = null;
+        values[blockCount] = null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.skillsoft.collections;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Returns one canonical instance for every group of equal values, like String.intern().
+ *
+ * Canonical instances are only weakly referenced, so values nobody uses any more can still
+ * be garbage collected. Once two equal keys share an instance, equals() succeeds on the
+ * first {@code this == other} check and HashMap lookups skip the field-by-field comparison.
+ */
+public final class Interner<T> {
+
+    private final Map<T, WeakReference<T>> canonical = new WeakHashMap<>();
+
+    public synchronized T intern(T value) {
+        WeakReference<T> ref = canonical.get(value);
+        T existing = (ref == null) ? null : ref.get();
+        if (existing != null) return existing;
+        canonical.put(value, new WeakReference<>(value));
+        return value;
+    }
+
+    public synchronized int size() {
+        return canonical.size();
+    }
+}
@@ -9,12 +9,53 @@ public class LRUCache extends LinkedHashMap<Integer, String> {
 
     private static final int MAX_ENTRIES = 5;
 
+    // Null unless statistics were requested, so the default cache only pays for one null check.
+    private final transient StatsCounter stats;
+
     public LRUCache() {
+        this(false);
+    }
+
+    /**
+     * @param recordStats when true, hits, misses, evictions and get/put latencies are
+     *                    recorded and available from {@link #stats()}
+     */
+    public LRUCache(boolean recordStats) {
         super(16, 0.75f, true);
+        this.stats = recordStats ? new StatsCounter("LRUCache") : null;
+    }
+
+    /** Snapshot of the recorded statistics; all zero when recording is disabled. */
+    public CacheStats stats() {
+        return (stats == null) ? CacheStats.EMPTY : stats.snapshot();
+    }
+
+    StatsCounter statsCounter() {
+        return stats;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (stats == null) return super.get(key);
+        long start = System.nanoTime();
+        String value = super.get(key);
+        stats.recordGet(value != null, System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public String put(Integer key, String value) {
+        if (stats == null) return super.put(key, value);
+        long start = System.nanoTime();
+        String old = super.put(key, value);
+        stats.recordPut(System.nanoTime() - start);
+        return old;
     }
 
     @Override
     protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
-        return size() > MAX_ENTRIES;
+        boolean evict = size() > MAX_ENTRIES;
+        if (evict && stats != null) stats.recordEviction();
+        return evict;
     }
 }
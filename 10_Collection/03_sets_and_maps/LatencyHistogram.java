@@ -0,0 +1,83 @@
+package com.skillsoft.collections;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-safe latency histogram with power-of-two nanosecond buckets.
+ *
+ * Bucket 0 counts zero and bucket i counts latencies in [2^(i-1), 2^i) ns, so recording
+ * is one leading-zeros instruction and one LongAdder increment. Percentiles are reported
+ * as the upper bound of the bucket they fall in, i.e. within a factor of two of the exact value.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[BUCKETS - Long.numberOfLeadingZeros(nanos)].increment();
+        totalNanos.add(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts[i].sum();
+        }
+        return new Snapshot(copy, totalNanos.sum());
+    }
+
+    /** Immutable view of the histogram at one point in time. */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0L);
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+
+        private Snapshot(long[] counts, long totalNanos) {
+            this.counts = counts;
+            this.totalNanos = totalNanos;
+            long sum = 0;
+            for (long c : counts) sum += c;
+            this.count = sum;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double meanNanos() {
+            return (count == 0) ? 0.0 : (double) totalNanos / count;
+        }
+
+        /** Upper bound of the bucket holding the given percentile (0-100), in nanoseconds. */
+        public long percentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be in [0, 100]: " + percentile);
+            if (count == 0) return 0;
+            long rank = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(rank, 1)) return (i == 0) ? 0 : (1L << i) - 1;
+            }
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{count=%d, mean=%.0fns, p50=%dns, p99=%dns, p999=%dns}",
+                    count, meanNanos(), percentileNanos(50), percentileNanos(99), percentileNanos(99.9));
+        }
+    }
+}
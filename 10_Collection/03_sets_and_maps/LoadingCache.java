@@ -0,0 +1,223 @@
+package com.skillsoft.collections;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Read-through cache that coalesces concurrent loads of the same key.
+ *
+ * - get(key, loader) returns the cached value or loads it on the calling thread.
+ * - getAsync(key) loads with the default loader on an executor and returns a future.
+ * - getAll(keys, bulkLoader) sends every missing key to the backend in one call.
+ *
+ * When many threads miss on the same key at once, only the first one calls the loader;
+ * the others wait on its CompletableFuture. Loaded values are put into the backing map
+ * before the in-flight future is released, so later callers hit the cache instead of
+ * starting a new load. Failed and null loads are not cached.
+ *
+ * The backing map must be thread-safe, e.g. a ConcurrentLRUCache or a synchronized LRUCache.
+ */
+public class LoadingCache<K, V> {
+
+    private final Map<K, V> cache;
+    private final Function<? super K, ? extends V> defaultLoader;
+    private final Executor executor;
+    private final StatsCounter stats;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public LoadingCache(Map<K, V> cache, Function<? super K, ? extends V> defaultLoader) {
+        this(cache, defaultLoader, ForkJoinPool.commonPool());
+    }
+
+    public LoadingCache(Map<K, V> cache, Function<? super K, ? extends V> defaultLoader, Executor executor) {
+        this(cache, defaultLoader, executor, null);
+    }
+
+    /**
+     * @param stats receives load successes, failures and load times; may be null to skip recording
+     */
+    public LoadingCache(Map<K, V> cache, Function<? super K, ? extends V> defaultLoader, Executor executor,
+                        StatsCounter stats) {
+        this.cache = Objects.requireNonNull(cache, "cache");
+        this.defaultLoader = Objects.requireNonNull(defaultLoader, "defaultLoader");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.stats = stats;
+    }
+
+    /** Loading cache in front of the demo LRUCache, made thread-safe with a synchronized wrapper. */
+    public static LoadingCache<Integer, String> overLRUCache(Function<? super Integer, String> loader) {
+        return overLRUCache(loader, false);
+    }
+
+    /** Same as above; with recordStats the LRUCache and the loads share one set of statistics. */
+    public static LoadingCache<Integer, String> overLRUCache(Function<? super Integer, String> loader, boolean recordStats) {
+        LRUCache lru = new LRUCache(recordStats);
+        return new LoadingCache<>(Collections.synchronizedMap(lru), loader, ForkJoinPool.commonPool(), lru.statsCounter());
+    }
+
+    /** The backing map, for inspection or explicit invalidation. */
+    public Map<K, V> asMap() {
+        return cache;
+    }
+
+    public V get(K key) {
+        return get(key, defaultLoader);
+    }
+
+    /** Returns the cached value, loading it on this thread (or waiting for a load already in progress). */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(key, "key");
+        V value = cache.get(key);
+        if (value != null) return value;
+
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            load(key, loader, created);
+            existing = created;
+        }
+        return join(existing);
+    }
+
+    public CompletableFuture<V> getAsync(K key) {
+        return getAsync(key, defaultLoader);
+    }
+
+    /** Returns a future for the value; a miss is loaded on the executor unless another load is already running. */
+    public CompletableFuture<V> getAsync(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(key, "key");
+        V value = cache.get(key);
+        if (value != null) return CompletableFuture.completedFuture(value);
+
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) return existing;
+        try {
+            executor.execute(() -> load(key, loader, created));
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    /**
+     * Returns the values of all keys that are cached or could be loaded. Keys that are neither
+     * cached nor already loading are passed to the bulk loader in a single call; keys it does
+     * not return are left out of the result.
+     */
+    public Map<K, V> getAll(Iterable<? extends K> keys, Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> claimed = new LinkedHashMap<>();
+
+        for (K key : keys) {
+            Objects.requireNonNull(key, "key");
+            if (result.containsKey(key) || waiting.containsKey(key)) continue;
+            V value = cache.get(key);
+            if (value != null) {
+                result.put(key, value);
+                continue;
+            }
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                claimed.put(key, created);
+                waiting.put(key, created);
+            } else {
+                waiting.put(key, existing);
+            }
+        }
+
+        if (!claimed.isEmpty()) bulkLoad(claimed, bulkLoader);
+
+        for (Map.Entry<K, CompletableFuture<V>> e : waiting.entrySet()) {
+            V value = join(e.getValue());
+            if (value != null) result.put(e.getKey(), value);
+        }
+        return result;
+    }
+
+    // Rethrows the loader's own exception rather than the CompletionException wrapping it.
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private void load(K key, Function<? super K, ? extends V> loader, CompletableFuture<V> future) {
+        try {
+            // Another thread may have finished loading between our cache miss and claiming the key.
+            // containsKey first, so a recording cache does not count the same miss twice.
+            V value = cache.containsKey(key) ? cache.get(key) : null;
+            if (value == null) {
+                long start = System.nanoTime();
+                try {
+                    value = loader.apply(key);
+                } catch (Throwable t) {
+                    if (stats != null) stats.recordLoadFailure(System.nanoTime() - start);
+                    throw t;
+                }
+                if (stats != null) recordLoad(value != null, System.nanoTime() - start);
+                if (value != null) cache.put(key, value);
+            }
+            future.complete(value);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    // A load that produced nothing counts as a failure, matching how it is left uncached.
+    private void recordLoad(boolean success, long nanos) {
+        if (success) {
+            stats.recordLoadSuccess(nanos);
+        } else {
+            stats.recordLoadFailure(nanos);
+        }
+    }
+
+    private void bulkLoad(Map<K, CompletableFuture<V>> claimed, Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        try {
+            Set<K> missing = new LinkedHashSet<>(claimed.keySet());
+            long start = System.nanoTime();
+            Map<? extends K, ? extends V> loaded;
+            try {
+                loaded = bulkLoader.apply(Collections.unmodifiableSet(missing));
+            } catch (Throwable t) {
+                if (stats != null) stats.recordLoadFailure(System.nanoTime() - start);
+                throw t;
+            }
+            if (stats != null) recordLoad(loaded != null && !loaded.isEmpty(), System.nanoTime() - start);
+            for (Map.Entry<K, CompletableFuture<V>> e : claimed.entrySet()) {
+                V value = (loaded == null) ? null : loaded.get(e.getKey());
+                if (value != null) cache.put(e.getKey(), value);
+                e.getValue().complete(value);
+            }
+        } catch (Throwable t) {
+            for (CompletableFuture<V> future : claimed.values()) {
+                future.completeExceptionally(t);
+            }
+        } finally {
+            for (Map.Entry<K, CompletableFuture<V>> e : claimed.entrySet()) {
+                inFlight.remove(e.getKey(), e.getValue());
+            }
+        }
+    }
+}
@@ -1,3 +1,8 @@
+import com.skillsoft.collections.IndexedCatalog;
+import com.skillsoft.collections.Product;
+import com.skillsoft.collections.RadixTreeSet;
+import com.skillsoft.collections.SortedCollections;
+
 import java.io.*;
 import java.util.*;
 
@@ -8,8 +13,11 @@ import java.util.*;
  * - Demonstrates SortedSet utilities (first, last, headSet, tailSet, subSet)
  * - Demonstrates custom Product with Comparable and using Comparator
  * - Demonstrates TreeSet with custom (descending) Comparator for Strings
+ * - Demonstrates linear-time TreeSet construction from already-sorted input (SortedCollections)
+ * - Demonstrates IndexedCatalog lookups by category and name range
+ * - Demonstrates RadixTreeSet prefix and range views over car names
  *
- * Single-file: Product is implemented as a static nested class so you can compile/run this one file.
+ * Product lives next to this file in the com.skillsoft.collections package.
  */
 public class Main {
 
@@ -55,7 +63,7 @@ public class Main {
 
         // 4) SortedSet / TreeSet operations (first, last, headSet, tailSet, subSet)
         System.out.println("\n=== 4) SortedSet (vowels) demo ===");
-        SortedSet<String> vowelSet = new TreeSet<>();
+        SortedSet<String> vowelSet = new RadixTreeSet();
         vowelSet.add("A"); vowelSet.add("E"); vowelSet.add("I"); vowelSet.add("O"); vowelSet.add("U");
         System.out.println("Vowels are: " + vowelSet);
         System.out.println("First vowel: " + vowelSet.first());
@@ -87,10 +95,15 @@ public class Main {
                 return o1.getCategory().compareTo(o2.getCategory());
             }
         };
-        SortedSet<Product> productSetWithComparator = new TreeSet<>(productComparator);
-        productSetWithComparator.addAll(productSetComparable);
+        // The source is already in this order, so the tree is built in one linear pass.
+        SortedSet<Product> productSetWithComparator = SortedCollections.newTreeSet(productComparator, productSetComparable);
         for (Product p : productSetWithComparator) System.out.println(p);
 
+        // Third: same ordering again, but most comparisons are decided by the precomputed prefix keys
+        System.out.println("\n-- Product TreeSet using Product.KEY_ORDER (prefix keys, strings only on ties) --");
+        SortedSet<Product> productSetWithKeyOrder = SortedCollections.newTreeSet(Product.KEY_ORDER, productSetComparable);
+        for (Product p : productSetWithKeyOrder) System.out.println(p);
+
 
         // 6) TreeSet with custom Comparator for Strings (descending)
         System.out.println("\n=== 6) TreeSet with descending string Comparator ===");
@@ -103,6 +116,29 @@ public class Main {
         for (String name : descTree) System.out.println(name);
 
 
+        // 7) Indexed catalog: lookups by attribute answered from secondary indexes, not scans
+        System.out.println("\n=== 7) IndexedCatalog with secondary indexes ===");
+        IndexedCatalog<String, Product> catalog = new IndexedCatalog<>(Product::getName);
+        IndexedCatalog.HashIndex<Product, String> byCategory = catalog.addHashIndex(Product::getCategory);
+        IndexedCatalog.SortedIndex<Product, String> byName = catalog.addSortedIndex(Product::getName);
+        for (Product p : productSetComparable) catalog.put(p);
+        catalog.put(Product.of("Pixel", "Mobiles"));
+        System.out.println("category = Mobiles: " + byCategory.get("Mobiles"));
+        System.out.println("names from L to S: " + byName.range("L", "S"));
+        catalog.remove("iPhone");
+        System.out.println("category = Mobiles after removing iPhone: " + byCategory.get("Mobiles"));
+
+
+        // 8) Radix tree set: TreeSet order, plus every name starting with a prefix
+        System.out.println("\n=== 8) RadixTreeSet prefix and range views ===");
+        RadixTreeSet carTree = new RadixTreeSet(Arrays.asList(carsArray));
+        carTree.addAll(Arrays.asList("Mercury", "Merc", "Mazda"));
+        System.out.println("All cars: " + carTree);
+        System.out.println("Cars starting with Merc: " + carTree.prefixSet("Merc"));
+        System.out.println("Cars before Mercedes: " + carTree.headSet("Mercedes"));
+        System.out.println("Cars from H to N, descending: " + carTree.subSet("H", true, "N", false).descendingSet());
+
+
         System.out.println("\n=== End of consolidated demo ===");
     }
 }
@@ -1,6 +1,22 @@
+import com.skillsoft.collections.BloomFilteredMap;
+import com.skillsoft.collections.DurableMap;
+import com.skillsoft.collections.LRUCache;
+import com.skillsoft.collections.Movie;
+import com.skillsoft.collections.OffHeapIntStringMap;
+import com.skillsoft.collections.PersistentHashMap;
+import com.skillsoft.collections.SnapshotMap;
+import com.skillsoft.collections.SortedCollections;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
-public class Main {
+public class MapMain {
 
     public static void main(String[] args) {
         demonstrateHashMapBasics();
@@ -13,13 +29,22 @@ public class Main {
         System.out.println();
         demonstrateTreeMapNavigation();
         System.out.println();
+        demonstrateConcurrentNavigation();
+        System.out.println();
+        demonstrateSnapshots();
+        System.out.println();
+        demonstrateOffHeapMap();
+        System.out.println();
+        demonstrateDurableMap();
+        System.out.println();
         demonstrateCustomObjectsInMaps();
         System.out.println();
         demonstrateLRUCache();
     }
 
     private static void demonstrateHashMapBasics() {
-        Map<Integer, String> actors = new HashMap<>();
+        // A HashMap behind a Bloom filter: lookups of absent keys such as 1008 stop at the filter.
+        BloomFilteredMap<Integer, String> actors = new BloomFilteredMap<>(new HashMap<>());
         System.out.println("Actors map empty? : " + actors.isEmpty());
         System.out.println("Actors map size : " + actors.size());
 
@@ -36,6 +61,7 @@ public class Main {
         System.out.println("\n***** Retrieving elements");
         System.out.format("Key: %s, Value: %s%n", 1003, actors.get(1003));
         System.out.format("Key: %s, Value: %s%n", 1008, actors.get(1008)); // null
+        System.out.println("Filter: " + actors.filterStats());
 
         System.out.println("\n***** Deleting elements");
         System.out.println("Actors (original): " + actors);
@@ -100,7 +126,7 @@ public class Main {
     }
 
     private static void demonstrateTreeMapVariants() {
-        SortedMap<Integer, String> tree = new TreeMap<>();
+        NavigableMap<Integer, String> tree = new TreeMap<>();
         tree.put(1784, "Back to the Future");
         tree.put(1503, "Titanic");
         tree.put(1202, "Jaws");
@@ -110,9 +136,9 @@ public class Main {
         System.out.println("***** TreeMap (natural key order)");
         tree.forEach((k, v) -> System.out.println(k + " -> " + v));
 
-        Comparator<Integer> desc = (i1, i2) -> i2.compareTo(i1);
-        SortedMap<Integer, String> descTree = new TreeMap<>(desc);
-        descTree.putAll(tree);
+        // Only the direction changes, so this is tree.descendingMap(): a view, nothing is copied.
+        Comparator<Integer> desc = Comparator.reverseOrder();
+        SortedMap<Integer, String> descTree = SortedCollections.reorder(tree, desc);
         System.out.println("\n***** TreeMap with reverse comparator (descending keys)");
         descTree.forEach((k, v) -> System.out.println(k + " -> " + v));
 
@@ -142,6 +168,121 @@ public class Main {
         System.out.println("Map with keys in [1277,1503): " + sample.subMap(1277, 1503));
     }
 
+    private static void demonstrateConcurrentNavigation() {
+        // Lock-free skip list: same navigation API as TreeMap, but safe to share between threads.
+        // Range views are weakly consistent, so a scan never blocks writers (and vice versa).
+        ConcurrentNavigableMap<Integer, String> shared = new ConcurrentSkipListMap<>();
+        shared.put(1202, "Sam");
+        shared.put(1503, "Tom");
+        shared.put(1501, "Ronald");
+        shared.put(1784, "Ursula");
+        shared.put(1277, "Dan");
+
+        System.out.println("***** ConcurrentSkipListMap: " + shared);
+        Thread writer = new Thread(() -> {
+            for (int id = 1300; id < 1310; id++) shared.put(id, "New hire " + id);
+        });
+        writer.start();
+        // Iterating the view while the writer runs is allowed; it may or may not see the new hires.
+        for (Map.Entry<Integer, String> e : shared.subMap(1277, 1503).entrySet()) {
+            System.out.println(e.getKey() + " -> " + e.getValue());
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Keys in [1277,1503) after the writer finished: " + shared.subMap(1277, 1503).keySet());
+    }
+
+    private static void demonstrateSnapshots() {
+        // Every write installs a new immutable version; a snapshot is just the version of that moment.
+        SnapshotMap<Integer, String> actors = new SnapshotMap<>();
+        actors.put(1001, "Tom Hanks");
+        actors.put(1002, "Will Smith");
+        actors.put(1003, "Bruce Willis");
+
+        PersistentHashMap<Integer, String> before = actors.snapshot();
+        Thread writer = new Thread(() -> {
+            for (int id = 1004; id < 1014; id++) actors.put(id, "Extra " + id);
+            actors.remove(1001);
+        });
+        writer.start();
+        // No lock and no copy: this loop sees exactly the three actors, whatever the writer does.
+        System.out.println("***** Snapshot taken before the writer started");
+        for (Map.Entry<Integer, String> e : before.entrySet()) {
+            System.out.println(e.getKey() + " -> " + e.getValue());
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Snapshot size still: " + before.size() + ", current size: " + actors.size());
+
+        // Several keys changed as one step: readers see both updates or neither.
+        actors.update(map -> map.with(1002, "Denzel Washington").with(1003, "Morgan Freeman"));
+        PersistentHashMap<Integer, String> after = actors.snapshot();
+        System.out.println("1002 and 1003 now: " + after.get(1002) + ", " + after.get(1003));
+    }
+
+    private static void demonstrateOffHeapMap() {
+        // Keys and UTF-8 values live in direct ByteBuffers, so the GC never scans these entries.
+        try (OffHeapIntStringMap offHeap = OffHeapIntStringMap.newBuilder().expectedSize(100_000).slabBytes(64 * 1024).build()) {
+            offHeap.put(1001, "Tom Hanks");
+            offHeap.put(1002, "Will Smith");
+            offHeap.put(1003, "Bruce Willis");
+            for (int id = 2000; id < 102_000; id++) offHeap.put(id, "Extra " + id);
+
+            System.out.println("***** Off-heap map with " + offHeap.size() + " actors");
+            System.out.println("Key: 1002, Value: " + offHeap.get(1002));
+            System.out.println("Off-heap bytes: " + offHeap.offHeapBytes());
+
+            // Removing most extras leaves dead records behind; the slabs holding them are compacted.
+            for (int id = 2000; id < 102_000; id++) {
+                if (id % 10 != 0) offHeap.remove(id);
+            }
+            System.out.println("After removing 90% of the extras: size " + offHeap.size()
+                    + ", live value bytes " + offHeap.liveBytes() + ", compactions " + offHeap.compactionCount());
+
+            // The Map view decodes a value only when getValue() is called.
+            Map<Integer, String> actors = offHeap.asMap();
+            System.out.println("Map view contains 1001? " + actors.containsKey(1001) + ", get(1003): " + actors.get(1003));
+        }
+    }
+
+    private static void demonstrateDurableMap() {
+        try {
+            Path dir = Files.createTempDirectory("actors-wal");
+            // Each put() is in the write-ahead log, fsync'ed, before it returns.
+            try (DurableMap<Integer, String> actors = DurableMap.open(dir, DurableMap.Codec.INTEGER, DurableMap.Codec.STRING)) {
+                actors.put(1001, "Tom Hanks");
+                actors.put(1002, "Will Smith");
+                actors.put(1003, "Bruce Willis");
+                actors.remove(1002);
+                System.out.println("***** DurableMap before restart: " + actors);
+            }
+
+            // A new instance on the same directory replays the log: the "restart".
+            try (DurableMap<Integer, String> actors = DurableMap.open(dir, DurableMap.Codec.INTEGER, DurableMap.Codec.STRING)) {
+                System.out.println("Recovered after restart: " + actors);
+                actors.snapshot(); // all entries in one file; the old log is deleted
+            }
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                stream.forEach(files::add);
+            }
+            Collections.sort(files);
+            for (Path file : files) {
+                System.out.println("File after snapshot: " + file.getFileName());
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private static void demonstrateCustomObjectsInMaps() {
         Map<Integer, Movie> valuesAsMovies = new HashMap<>();
         valuesAsMovies.put(1202, new Movie("Titanic", "Leonardo DiCaprio"));
@@ -152,16 +293,18 @@ public class Main {
         valuesAsMovies.forEach((k, v) -> System.out.println(k + " -> " + v));
 
         Map<Movie, Float> keysAsMovies = new HashMap<>();
-        keysAsMovies.put(new Movie("Titanic", "Leonardo DiCaprio"), 8.8f);
-        keysAsMovies.put(new Movie("Back to the Future", "Michael J. Fox"), 8.3f);
-        keysAsMovies.put(new Movie("The Godfather", "Al Pacino"), 9.3f);
-        keysAsMovies.put(new Movie("Casablanca", "Humphrey Bogart"), 8.9f);
+        // Movie.of returns one canonical instance per movie, so key lookups match on ==
+        keysAsMovies.put(Movie.of("Titanic", "Leonardo DiCaprio"), 8.8f);
+        keysAsMovies.put(Movie.of("Back to the Future", "Michael J. Fox"), 8.3f);
+        keysAsMovies.put(Movie.of("The Godfather", "Al Pacino"), 9.3f);
+        keysAsMovies.put(Movie.of("Casablanca", "Humphrey Bogart"), 8.9f);
         System.out.println("\n**** Keys can be custom objects");
         keysAsMovies.forEach((k, v) -> System.out.format("Key: %s, Value: %.1f%n", k, v));
 
         System.out.println("\n**** Duplicate entry with equal Movie key (will replace previous value)");
         Movie anotherGodfather = new Movie("The Godfather", "Al Pacino");
         keysAsMovies.put(anotherGodfather, 5.4f); // replaces 9.3f if equals/hashCode match
+        System.out.println("Same instance as Movie.of? " + (Movie.of("The Godfather", "Al Pacino") == Movie.of("The Godfather", "Al Pacino")));
         keysAsMovies.forEach((k, v) -> System.out.format("Key: %s, Value: %.1f%n", k, v));
     }
 
@@ -2,14 +2,36 @@ package com.skillsoft.collections;
 
 import java.util.Objects;
 
-public class Movie {
+/**
+ * Immutable movie value, safe to use as a HashMap key.
+ *
+ * The hash code is computed once in the constructor without the varargs array that
+ * Objects.hash would allocate. Use {@link #of} to share one instance per distinct movie.
+ * The actor is kept as a StringDictionary code, so equals() compares actors as ints. If the
+ * shared dictionary is full, a new actor is kept as a String in the object instead.
+ */
+public final class Movie {
 
-    private String name;
-    private String actor;
+    private static final Interner<Movie> INTERNER = new Interner<>();
+    private static final StringDictionary ACTORS = new StringDictionary();
+
+    private final String name;
+    private final int actorCode;
+    // Set only when actorCode is NO_CODE.
+    private final String uncodedActor;
+    private final int hash;
 
     public Movie(String name, String actor) {
         this.name = name;
-        this.actor = actor;
+        this.actorCode = ACTORS.tryEncode(actor);
+        this.uncodedActor = (actorCode == StringDictionary.NO_CODE) ? actor : null;
+        // Same value as Objects.hash(name, actor).
+        this.hash = 31 * (31 + Objects.hashCode(name)) + Objects.hashCode(actor);
+    }
+
+    /** Returns the canonical instance equal to new Movie(name, actor). */
+    public static Movie of(String name, String actor) {
+        return INTERNER.intern(new Movie(name, actor));
     }
 
     public String getName() {
@@ -17,17 +39,17 @@ public class Movie {
     }
 
     public String getActor() {
-        return actor;
+        return (actorCode == StringDictionary.NO_CODE) ? uncodedActor : ACTORS.decode(actorCode);
     }
 
     @Override
     public String toString() {
-        return "{" + name + ", " + actor + "}";
+        return "{" + name + ", " + getActor() + "}";
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, actor);
+        return hash;
     }
 
     @Override
@@ -36,7 +58,9 @@ public class Movie {
         if (other == null) return false;
         if (!(other instanceof Movie)) return false;
         Movie otherMovie = (Movie) other;
-        return Objects.equals(this.name, otherMovie.name) &&
-               Objects.equals(this.actor, otherMovie.actor);
+        return this.hash == otherMovie.hash &&
+               Objects.equals(this.name, otherMovie.name) &&
+               this.actorCode == otherMovie.actorCode &&
+               Objects.equals(this.uncodedActor, otherMovie.uncodedActor);
     }
 }
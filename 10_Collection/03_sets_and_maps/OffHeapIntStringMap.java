@@ -0,0 +1,584 @@
+package com.skillsoft.collections;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * int to String map whose entries live outside the Java heap, in direct or memory-mapped ByteBuffers.
+ *
+ * - The hash table is itself a direct buffer of 16-byte slots (key, slab, offset, length),
+ *   searched by linear probing with backward-shift deletion as in IntLruCache.
+ * - Values are UTF-8 records (int key | int length | bytes) bump-allocated in fixed-size slabs.
+ *   An overwrite or remove only leaves the old record behind as dead bytes.
+ * - Once dead bytes outweigh live ones, compact() copies the live records out of the most
+ *   wasteful slabs and recycles those slabs; one spare slab is kept to avoid reallocating.
+ * - The heap holds a handful of objects whatever the size, so the garbage collector never
+ *   scans or copies the entries. get() decodes a new String each time.
+ *
+ * asMap() adapts it to Map&lt;Integer, String&gt;; its entries decode their value on the first
+ * getValue(), so iterating keys costs no String at all. With mappedDirectory(dir) the slabs are
+ * temporary files mapped into memory, letting the OS page cold values out; the files are
+ * deleted on close(). This is not a durable store: the table always lives in memory.
+ *
+ * <pre>
+ *     OffHeapIntStringMap actors = OffHeapIntStringMap.newBuilder().expectedSize(10_000_000).build();
+ *     actors.put(1001, "Tom Hanks");
+ *     Map&lt;Integer, String&gt; view = actors.asMap();
+ * </pre>
+ *
+ * Like LRUCache this class is not thread-safe. Null values are not allowed because get() uses
+ * null to report a miss.
+ */
+public final class OffHeapIntStringMap implements Closeable {
+
+    private static final int SLOT_BYTES = 16;
+    private static final int RECORD_HEADER = 8;
+    private static final int MAX_SLOTS = 1 << 26; // 1 GiB of table, ~50 million entries
+    private static final int DEFAULT_SLAB_BYTES = 16 * 1024 * 1024;
+
+    private final int slabBytes;
+    private final Path mappedDirectory;
+
+    private ByteBuffer table;
+    private int slotMask;
+    private int size;
+    private int modCount;
+
+    private final List<Slab> slabs = new ArrayList<>(); // by id; null = released
+    private final ArrayDeque<Integer> freeSlabs = new ArrayDeque<>();
+    private Slab active;
+    private long liveBytes;
+    private long deadBytes;
+    private long compactions;
+
+    private OffHeapIntStringMap(Builder builder) {
+        this.slabBytes = builder.slabBytes;
+        this.mappedDirectory = builder.mappedDirectory;
+        // Load factor of at most 0.75 keeps probe sequences short.
+        long wanted = Math.max(16, (long) builder.expectedSize * 4 / 3 + 1);
+        if (wanted > MAX_SLOTS) throw new IllegalArgumentException("expectedSize too large: " + builder.expectedSize);
+        allocateTable(Integer.highestOneBit((int) wanted - 1) << 1);
+        active = newSlab();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /** Decodes and returns the value, or null if the key is absent. */
+    public String get(int key) {
+        int slot = find(key);
+        return (slot < 0) ? null : decode(slot);
+    }
+
+    /** Byte length of the key's UTF-8 value, or -1 if absent; nothing is decoded. */
+    public int valueLength(int key) {
+        int slot = find(key);
+        return (slot < 0) ? -1 : table.getInt(slot * SLOT_BYTES + 12);
+    }
+
+    /** Stores the value; returns true if the key was new. */
+    public boolean put(int key, String value) {
+        Objects.requireNonNull(value, "value");
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int recordBytes = RECORD_HEADER + bytes.length;
+        if (recordBytes > slabBytes) throw new IllegalArgumentException("value too large for a slab: " + bytes.length + " bytes");
+
+        int slot = find(key);
+        boolean added = slot < 0;
+        if (added) {
+            if (size + 1 > (slotMask + 1) / 4 * 3) resize();
+            slot = emptySlotFor(key);
+            size++;
+        } else {
+            release(slot);
+        }
+        long location = allocate(recordBytes);
+        Slab slab = slabs.get((int) (location >>> 32));
+        int offset = (int) location;
+        slab.buffer.putInt(offset, key);
+        slab.buffer.putInt(offset + 4, bytes.length);
+        slab.buffer.put(offset + RECORD_HEADER, bytes);
+        setSlot(slot, key, slab.id + 1, offset, bytes.length);
+        liveBytes += recordBytes;
+        modCount++;
+        if (!added) compactIfWasteful();
+        return added;
+    }
+
+    /** Removes the key; returns true if it was present. */
+    public boolean remove(int key) {
+        int slot = find(key);
+        if (slot < 0) return false;
+        release(slot);
+        deleteSlot(slot);
+        size--;
+        modCount++;
+        compactIfWasteful();
+        return true;
+    }
+
+    public void clear() {
+        for (int i = 0; i <= slotMask; i++) {
+            table.putInt(i * SLOT_BYTES + 4, 0);
+        }
+        for (Slab slab : slabs) {
+            if (slab != null && slab != active && !slab.free) freeSlab(slab);
+        }
+        active.writeOffset = 0;
+        active.liveBytes = 0;
+        size = 0;
+        liveBytes = 0;
+        deadBytes = 0;
+        modCount++;
+    }
+
+    /** Passes every key and its decoded value to the action, in table order. */
+    public void forEach(IntObjConsumer<? super String> action) {
+        int expected = modCount;
+        for (int slot = 0; slot <= slotMask; slot++) {
+            if (table.getInt(slot * SLOT_BYTES + 4) == 0) continue;
+            action.accept(table.getInt(slot * SLOT_BYTES), decode(slot));
+            if (modCount != expected) throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Copies the live records out of every sealed slab that is at least half dead, then
+     * recycles those slabs. Runs by itself once dead bytes exceed the live ones.
+     */
+    public void compact() {
+        boolean freed = false;
+        for (Slab slab : new ArrayList<>(slabs)) {
+            if (slab == null || slab == active || slab.free || slab.liveBytes * 2 > slab.writeOffset) continue;
+            evacuate(slab);
+            freeSlab(slab);
+            freed = true;
+        }
+        if (freed) compactions++;
+    }
+
+    /** Direct or mapped memory held: the table plus every slab, including the spare. */
+    public long offHeapBytes() {
+        long bytes = table.capacity();
+        for (Slab slab : slabs) {
+            if (slab != null) bytes += slab.buffer.capacity();
+        }
+        return bytes;
+    }
+
+    /** Bytes of value records that are still reachable from the table. */
+    public long liveBytes() {
+        return liveBytes;
+    }
+
+    /** Number of compact() runs that freed at least one slab. */
+    public long compactionCount() {
+        return compactions;
+    }
+
+    /** A Map view; changes write through. Entries decode their value only when asked for it. */
+    public Map<Integer, String> asMap() {
+        return new MapView();
+    }
+
+    /** Drops every buffer; mapped slab files are deleted. The map can not be used afterwards. */
+    @Override
+    public void close() {
+        for (Slab slab : slabs) {
+            if (slab != null) slab.delete();
+        }
+        slabs.clear();
+        freeSlabs.clear();
+        table = null;
+        active = null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() > 1 ? ", " : "").append(k).append('=').append(v));
+        return sb.append('}').toString();
+    }
+
+    // ---------------------------------------------------------------- table
+
+    private static int mix(int key) {
+        int h = key * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocateTable(int slots) {
+        table = ByteBuffer.allocateDirect(slots * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        slotMask = slots - 1;
+    }
+
+    private int find(int key) {
+        int slot = mix(key) & slotMask;
+        while (true) {
+            int base = slot * SLOT_BYTES;
+            if (table.getInt(base + 4) == 0) return -1;
+            if (table.getInt(base) == key) return slot;
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    private int emptySlotFor(int key) {
+        int slot = mix(key) & slotMask;
+        while (table.getInt(slot * SLOT_BYTES + 4) != 0) {
+            slot = (slot + 1) & slotMask;
+        }
+        return slot;
+    }
+
+    private void setSlot(int slot, int key, int slabRef, int offset, int length) {
+        int base = slot * SLOT_BYTES;
+        table.putInt(base, key);
+        table.putInt(base + 4, slabRef);
+        table.putInt(base + 8, offset);
+        table.putInt(base + 12, length);
+    }
+
+    /** Backward-shift deletion: pull later members of the probe run into the hole. */
+    private void deleteSlot(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & slotMask;
+            int base = slot * SLOT_BYTES;
+            if (table.getInt(base + 4) == 0) break;
+            int home = mix(table.getInt(base)) & slotMask;
+            // Move the entry only if its home is not cyclically in (hole, slot].
+            if (((slot - home) & slotMask) >= ((slot - hole) & slotMask)) {
+                setSlot(hole, table.getInt(base), table.getInt(base + 4), table.getInt(base + 8), table.getInt(base + 12));
+                hole = slot;
+            }
+        }
+        table.putInt(hole * SLOT_BYTES + 4, 0);
+    }
+
+    private void resize() {
+        int slots = slotMask + 1;
+        if (slots >= MAX_SLOTS) throw new IllegalStateException("OffHeapIntStringMap is full: " + size + " entries");
+        ByteBuffer old = table;
+        allocateTable(slots * 2);
+        for (int i = 0; i < slots; i++) {
+            int base = i * SLOT_BYTES;
+            if (old.getInt(base + 4) == 0) continue;
+            int key = old.getInt(base);
+            setSlot(emptySlotFor(key), key, old.getInt(base + 4), old.getInt(base + 8), old.getInt(base + 12));
+        }
+    }
+
+    private String decode(int slot) {
+        int base = slot * SLOT_BYTES;
+        Slab slab = slabs.get(table.getInt(base + 4) - 1);
+        byte[] bytes = new byte[table.getInt(base + 12)];
+        slab.buffer.get(table.getInt(base + 8) + RECORD_HEADER, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ---------------------------------------------------------------- slabs
+
+    /** Slab id in the high 32 bits, offset in the low 32 bits. */
+    private long allocate(int recordBytes) {
+        if (active.writeOffset + recordBytes > slabBytes) active = newSlab();
+        int offset = active.writeOffset;
+        active.writeOffset += recordBytes;
+        active.liveBytes += recordBytes;
+        return ((long) active.id << 32) | offset;
+    }
+
+    /** Marks the record the slot points to as dead. */
+    private void release(int slot) {
+        int base = slot * SLOT_BYTES;
+        int recordBytes = RECORD_HEADER + table.getInt(base + 12);
+        slabs.get(table.getInt(base + 4) - 1).liveBytes -= recordBytes;
+        liveBytes -= recordBytes;
+        deadBytes += recordBytes;
+    }
+
+    private void compactIfWasteful() {
+        if (deadBytes > liveBytes && deadBytes > slabBytes) compact();
+    }
+
+    /** Re-allocates every live record of the slab; a record is live if its key's slot points at it. */
+    private void evacuate(Slab slab) {
+        ByteBuffer buffer = slab.buffer;
+        int offset = 0;
+        while (offset < slab.writeOffset) {
+            int key = buffer.getInt(offset);
+            int length = buffer.getInt(offset + 4);
+            int recordBytes = RECORD_HEADER + length;
+            int slot = find(key);
+            if (slot >= 0 && table.getInt(slot * SLOT_BYTES + 4) == slab.id + 1
+                    && table.getInt(slot * SLOT_BYTES + 8) == offset) {
+                long location = allocate(recordBytes);
+                Slab target = slabs.get((int) (location >>> 32));
+                int to = (int) location;
+                target.buffer.put(to, buffer, offset, recordBytes);
+                table.putInt(slot * SLOT_BYTES + 4, target.id + 1);
+                table.putInt(slot * SLOT_BYTES + 8, to);
+            }
+            offset += recordBytes;
+        }
+        deadBytes -= slab.writeOffset - slab.liveBytes;
+    }
+
+    private Slab newSlab() {
+        Integer id = freeSlabs.poll();
+        if (id != null) {
+            Slab slab = slabs.get(id);
+            if (slab != null) {
+                slab.free = false;
+                return slab;
+            }
+            slab = createSlab(id);
+            slabs.set(id, slab);
+            return slab;
+        }
+        Slab slab = createSlab(slabs.size());
+        slabs.add(slab);
+        return slab;
+    }
+
+    /** Empties the slab for reuse; beyond one spare, its memory is given back. */
+    private void freeSlab(Slab slab) {
+        slab.writeOffset = 0;
+        slab.liveBytes = 0;
+        slab.free = true;
+        if (!freeSlabs.isEmpty()) {
+            slab.delete();
+            slabs.set(slab.id, null);
+        }
+        freeSlabs.add(slab.id);
+    }
+
+    private Slab createSlab(int id) {
+        if (mappedDirectory == null) {
+            return new Slab(id, ByteBuffer.allocateDirect(slabBytes).order(ByteOrder.nativeOrder()), null);
+        }
+        try {
+            Files.createDirectories(mappedDirectory);
+            Path file = Files.createTempFile(mappedDirectory, "slab-", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed.
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, slabBytes).order(ByteOrder.nativeOrder());
+                return new Slab(id, buffer, file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Slab {
+        final int id;
+        final ByteBuffer buffer;
+        final Path file;
+        int writeOffset;
+        long liveBytes;
+        boolean free;
+
+        Slab(int id, ByteBuffer buffer, Path file) {
+            this.id = id;
+            this.buffer = buffer;
+            this.file = file;
+        }
+
+        void delete() {
+            if (file == null) return;
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- Map adapter
+
+    private final class MapView extends AbstractMap<Integer, String> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return (key instanceof Integer) && OffHeapIntStringMap.this.containsKey((Integer) key);
+        }
+
+        @Override
+        public String get(Object key) {
+            return (key instanceof Integer) ? OffHeapIntStringMap.this.get((Integer) key) : null;
+        }
+
+        @Override
+        public String put(Integer key, String value) {
+            String old = OffHeapIntStringMap.this.get(key);
+            OffHeapIntStringMap.this.put(key, value);
+            return old;
+        }
+
+        @Override
+        public String remove(Object key) {
+            if (!(key instanceof Integer)) return null;
+            String old = OffHeapIntStringMap.this.get((Integer) key);
+            if (old != null) OffHeapIntStringMap.this.remove((Integer) key);
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            OffHeapIntStringMap.this.clear();
+        }
+
+        /** Iteration does not support remove(): backward-shift deletion would reorder the table under it. */
+        @Override
+        public Set<Map.Entry<Integer, String>> entrySet() {
+            return new AbstractSet<Map.Entry<Integer, String>>() {
+                @Override
+                public Iterator<Map.Entry<Integer, String>> iterator() {
+                    return new Iterator<Map.Entry<Integer, String>>() {
+                        private final int expected = modCount;
+                        private int slot = nextSlot(0);
+
+                        private int nextSlot(int from) {
+                            while (from <= slotMask && table.getInt(from * SLOT_BYTES + 4) == 0) from++;
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return slot <= slotMask;
+                        }
+
+                        @Override
+                        public Map.Entry<Integer, String> next() {
+                            if (modCount != expected) throw new ConcurrentModificationException();
+                            if (slot > slotMask) throw new NoSuchElementException();
+                            LazyEntry entry = new LazyEntry(table.getInt(slot * SLOT_BYTES));
+                            slot = nextSlot(slot + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    /** Holds only the key until getValue() is called; setValue() writes through. */
+    private final class LazyEntry implements Map.Entry<Integer, String> {
+        private final int key;
+        private String value;
+
+        LazyEntry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public String getValue() {
+            if (value == null) value = get(key);
+            return value;
+        }
+
+        @Override
+        public String setValue(String value) {
+            String old = getValue();
+            put(key, value);
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    public static final class Builder {
+        private int expectedSize = 1024;
+        private int slabBytes = DEFAULT_SLAB_BYTES;
+        private Path mappedDirectory;
+
+        private Builder() {
+        }
+
+        /** Initial table size; the table doubles as needed. */
+        public Builder expectedSize(int expectedSize) {
+            if (expectedSize < 0) throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+            this.expectedSize = expectedSize;
+            return this;
+        }
+
+        /** Size of each value slab; also the largest record that can be stored. */
+        public Builder slabBytes(int slabBytes) {
+            if (slabBytes < 4096) throw new IllegalArgumentException("slabBytes too small: " + slabBytes);
+            this.slabBytes = slabBytes;
+            return this;
+        }
+
+        /** Map the slabs from temporary files in this directory instead of direct memory. */
+        public Builder mappedDirectory(Path directory) {
+            this.mappedDirectory = Objects.requireNonNull(directory, "directory");
+            return this;
+        }
+
+        public OffHeapIntStringMap build() {
+            return new OffHeapIntStringMap(this);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable hash map stored as a hash array mapped trie (HAMT); updates return new versions.
+ *
+ * - with(key, value) and without(key) leave this map untouched and return a new map that
+ *   shares every node except the O(log32 n) nodes on the path to the key.
+ * - Each node uses 5 bits of the key's hash: a 32-bit bitmap says which of its 32 slots are
+ *   used, and a packed array holds only those slots, as key/value pairs or child nodes.
+ * - Keys whose full hashes are equal share a small collision node at the bottom.
+ * - After a removal a child left with a single entry is folded back into its parent, so a
+ *   map has the same shape however it was built.
+ *
+ * Because a version never changes, any number of threads can read it without locking, and
+ * iterating it always shows one consistent state. SnapshotMap keeps the current version in an
+ * AtomicReference for maps that are shared and updated. The Map mutators (put, remove, clear)
+ * throw UnsupportedOperationException. Null keys and values are allowed, as in HashMap.
+ *
+ * <pre>
+ *     PersistentHashMap&lt;Integer, String&gt; v1 = PersistentHashMap.&lt;Integer, String&gt;empty().with(1001, "Tom Hanks");
+ *     PersistentHashMap&lt;Integer, String&gt; v2 = v1.with(1002, "Will Smith");   // v1 still has one entry
+ * </pre>
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final Object NULL_KEY = new Object();
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashMap<?, ?> EMPTY =
+            new PersistentHashMap<>(new BitmapNode(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> source) {
+        PersistentHashMap<K, V> map = empty();
+        return map.withAll(source);
+    }
+
+    /** A map like this one, with key mapped to value; this map if that mapping is already there. */
+    public PersistentHashMap<K, V> with(K key, V value) {
+        Object k = maskNull(key);
+        Change change = new Change();
+        Node updated = root.with(k, hash(k), value, 0, change);
+        if (updated == root) return this;
+        return new PersistentHashMap<>(updated, change.added ? size + 1 : size);
+    }
+
+    /** A map like this one, without key; this map if it has no such key. */
+    public PersistentHashMap<K, V> without(Object key) {
+        Object k = maskNull(key);
+        Node updated = root.without(k, hash(k), 0);
+        if (updated == root) return this;
+        return (updated == null) ? empty() : new PersistentHashMap<>(updated, size - 1);
+    }
+
+    public PersistentHashMap<K, V> withAll(Map<? extends K, ? extends V> source) {
+        PersistentHashMap<K, V> map = this;
+        for (Map.Entry<? extends K, ? extends V> e : source.entrySet()) {
+            map = map.with(e.getKey(), e.getValue());
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Object k = maskNull(key);
+        return root.find(k, hash(k), 0) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object k = maskNull(key);
+        Object value = root.find(k, hash(k), 0);
+        return (value == NOT_FOUND) ? null : (V) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        Object k = maskNull(key);
+        Object value = root.find(k, hash(k), 0);
+        return (value == NOT_FOUND) ? defaultValue : (V) value;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    // ---------------------------------------------------------------- trie
+
+    private static Object maskNull(Object key) {
+        return (key == null) ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(Object key) {
+        return (key == NULL_KEY) ? null : key;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    /** Set by with() when the key was not in the map before. */
+    private static final class Change {
+        boolean added;
+    }
+
+    /** Nodes never change after construction; every update copies the nodes it touches. */
+    abstract static class Node {
+        /** The value for key, or NOT_FOUND. */
+        abstract Object find(Object key, int hash, int shift);
+
+        /** This node with key mapped to value, or this node itself if nothing changed. */
+        abstract Node with(Object key, int hash, Object value, int shift, Change change);
+
+        /** This node without key, this node itself if it has no such key, or null if now empty. */
+        abstract Node without(Object key, int hash, int shift);
+
+        /** Flat key/value pairs and child nodes, in the layout EntryIterator walks. */
+        abstract Object[] array();
+
+        /** True if the node holds exactly one entry and no children, at array()[0..1]. */
+        boolean isSingleEntry() {
+            Object[] array = array();
+            return array.length == 2 && array[0] != null;
+        }
+    }
+
+    /** Up to 32 slots; array holds key,value for an entry or null,child for a subtree. */
+    static final class BitmapNode extends Node {
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return NOT_FOUND;
+            int i = index(bit);
+            Object k = array[i];
+            if (k == null) return ((Node) array[i + 1]).find(key, hash, shift + BITS);
+            return key.equals(k) ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node with(Object key, int hash, Object value, int shift, Change change) {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] grown = new Object[array.length + 2];
+                System.arraycopy(array, 0, grown, 0, i);
+                grown[i] = key;
+                grown[i + 1] = value;
+                System.arraycopy(array, i, grown, i + 2, array.length - i);
+                change.added = true;
+                return new BitmapNode(bitmap | bit, grown);
+            }
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = (Node) v;
+                Node updated = child.with(key, hash, value, shift + BITS, change);
+                return (updated == child) ? this : replace(i + 1, updated);
+            }
+            if (key.equals(k)) {
+                return (v == value) ? this : replace(i + 1, value);
+            }
+            // Another key already owns the slot: push both one level down.
+            change.added = true;
+            Node pair = pair(k, hash(k), v, key, hash, value, shift + BITS);
+            Object[] copy = array.clone();
+            copy[i] = null;
+            copy[i + 1] = pair;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        Node without(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            int i = index(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node child = (Node) array[i + 1];
+                Node updated = child.without(key, hash, shift + BITS);
+                if (updated == child) return this;
+                if (updated == null) return remove(i, bit);
+                if (updated.isSingleEntry()) {
+                    Object[] copy = array.clone();
+                    copy[i] = updated.array()[0];
+                    copy[i + 1] = updated.array()[1];
+                    return new BitmapNode(bitmap, copy);
+                }
+                return replace(i + 1, updated);
+            }
+            if (!key.equals(k)) return this;
+            return (bitmap == bit) ? null : remove(i, bit);
+        }
+
+        private BitmapNode replace(int i, Object value) {
+            Object[] copy = array.clone();
+            copy[i] = value;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private BitmapNode remove(int i, int bit) {
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, shrunk);
+        }
+    }
+
+    /** Keys with identical 32-bit hashes, searched linearly. */
+    static final class CollisionNode extends Node {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            if (hash != this.hash) return NOT_FOUND;
+            int i = indexOf(key);
+            return (i < 0) ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node with(Object key, int hash, Object value, int shift, Change change) {
+            if (hash != this.hash) {
+                // A different hash reached this node: nest it under a bitmap node that tells them apart.
+                return new BitmapNode(bit(this.hash, shift), new Object[] { null, this })
+                        .with(key, hash, value, shift, change);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) return this;
+                Object[] copy = array.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            Object[] grown = new Object[array.length + 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            change.added = true;
+            return new CollisionNode(hash, grown);
+        }
+
+        @Override
+        Node without(Object key, int hash, int shift) {
+            if (hash != this.hash) return this;
+            int i = indexOf(key);
+            if (i < 0) return this;
+            if (array.length == 2) return null;
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+            return new CollisionNode(hash, shrunk);
+        }
+    }
+
+    /** The smallest subtree holding two different keys, starting at shift. */
+    private static Node pair(Object k1, int h1, Object v1, Object k2, int h2, Object v2, int shift) {
+        if (h1 == h2) return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+        int b1 = bit(h1, shift);
+        int b2 = bit(h2, shift);
+        if (b1 == b2) {
+            return new BitmapNode(b1, new Object[] { null, pair(k1, h1, v1, k2, h2, v2, shift + BITS) });
+        }
+        Object[] array = (Integer.compareUnsigned(b1, b2) < 0)
+                ? new Object[] { k1, v1, k2, v2 }
+                : new Object[] { k2, v2, k1, v1 };
+        return new BitmapNode(b1 | b2, array);
+    }
+
+    /** Depth-first walk with an explicit stack; 32 bits of hash give at most 8 levels. */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Object[][] arrays = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth;
+        private Map.Entry<K, V> next;
+
+        EntryIterator(Node root) {
+            arrays[0] = root.array();
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int i = positions[depth];
+                if (i == array.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = i + 2;
+                if (array[i] == null) {
+                    depth++;
+                    arrays[depth] = ((Node) array[i + 1]).array();
+                    positions[depth] = 0;
+                } else {
+                    next = new SimpleImmutableEntry<>((K) unmaskNull(array[i]), (V) array[i + 1]);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) throw new NoSuchElementException();
+            Map.Entry<K, V> entry = next;
+            advance();
+            return entry;
+        }
+    }
+}
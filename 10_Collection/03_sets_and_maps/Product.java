@@ -1,13 +1,53 @@
+package com.skillsoft.collections;
+
+import java.util.Comparator;
 import java.util.Objects;
 
-public class Product implements Comparable<Product> {
+/**
+ * Immutable product value ordered by name, then category.
+ *
+ * The hash code is computed once in the constructor without the varargs array that
+ * Objects.hash would allocate. Use {@link #of} to share one instance per distinct product.
+ *
+ * The first four chars (8 bytes) of name and category are also packed into longs when the
+ * product is created. Comparing those prefixes as unsigned longs orders products exactly like
+ * String.compareTo, so most comparisons in a TreeSet are decided by one primitive compare
+ * and the full strings are only compared when the prefixes tie.
+ *
+ * The category is stored as a code from a shared StringDictionary, so many products of one
+ * category share a single String, and equals() compares categories as ints. If the shared
+ * dictionary is full, a new category is kept as a String in the product instead.
+ */
+public final class Product implements Comparable<Product> {
+
+    private static final Interner<Product> INTERNER = new Interner<>();
+    private static final StringDictionary CATEGORIES = new StringDictionary();
+    private static final int PREFIX_CHARS = 4;
+
+    /** Name, then category ordering that uses the precomputed prefix keys; same order as compareTo. */
+    public static final Comparator<Product> KEY_ORDER = Product::compareKeys;
 
     private final String name;
-    private final String category;
+    private final int categoryCode;
+    // Set only when categoryCode is NO_CODE.
+    private final String uncodedCategory;
+    private final int hash;
+    private final long namePrefix;
+    private final long categoryPrefix;
 
     public Product(String name, String category) {
         this.name = name;
-        this.category = category;
+        this.categoryCode = CATEGORIES.tryEncode(category);
+        this.uncodedCategory = (categoryCode == StringDictionary.NO_CODE) ? category : null;
+        this.namePrefix = (name == null) ? 0L : prefixKey(name);
+        this.categoryPrefix = (category == null) ? 0L : prefixKey(category);
+        // Same value as Objects.hash(name, category).
+        this.hash = 31 * (31 + Objects.hashCode(name)) + Objects.hashCode(category);
+    }
+
+    /** Returns the canonical instance equal to new Product(name, category). */
+    public static Product of(String name, String category) {
+        return INTERNER.intern(new Product(name, category));
     }
 
     public String getName() {
@@ -15,17 +55,17 @@ public class Product implements Comparable<Product> {
     }
 
     public String getCategory() {
-        return category;
+        return (categoryCode == StringDictionary.NO_CODE) ? uncodedCategory : CATEGORIES.decode(categoryCode);
     }
 
     @Override
     public String toString() {
-        return String.format("{name=%s, category=%s}", name, category);
+        return String.format("{name=%s, category=%s}", name, getCategory());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, category);
+        return hash;
     }
 
     @Override
@@ -34,15 +74,40 @@ public class Product implements Comparable<Product> {
         if (other == null) return false;
         if (!(other instanceof Product)) return false;
         Product otherProduct = (Product) other;
-        return Objects.equals(this.name, otherProduct.name)
-                && Objects.equals(this.category, otherProduct.category);
+        return this.hash == otherProduct.hash
+                && Objects.equals(this.name, otherProduct.name)
+                && this.categoryCode == otherProduct.categoryCode
+                && Objects.equals(this.uncodedCategory, otherProduct.uncodedCategory);
     }
 
     @Override
     public int compareTo(Product o) {
         if (o == null) throw new NullPointerException("Cannot compare to null");
-        int compareName = this.name.compareTo(o.name);
+        return compareKeys(this, o);
+    }
+
+    private static int compareKeys(Product a, Product b) {
+        if (a == b) return 0;
+        int compareName = Long.compareUnsigned(a.namePrefix, b.namePrefix);
+        if (compareName == 0) compareName = a.name.compareTo(b.name);
         if (compareName != 0) return compareName;
-        return this.category.compareTo(o.category);
+        if (a.categoryCode == b.categoryCode && a.categoryCode != StringDictionary.NO_CODE) return 0;
+        int compareCategory = Long.compareUnsigned(a.categoryPrefix, b.categoryPrefix);
+        if (compareCategory == 0) compareCategory = a.getCategory().compareTo(b.getCategory());
+        return compareCategory;
+    }
+
+    /**
+     * Packs the first four UTF-16 chars big-endian into a long, padding short strings with 0.
+     * Unsigned order of the keys matches String.compareTo order of the strings, except that
+     * strings sharing their first four chars (or differing only by trailing \0 chars) tie.
+     */
+    static long prefixKey(String s) {
+        long key = 0;
+        int length = Math.min(s.length(), PREFIX_CHARS);
+        for (int i = 0; i < PREFIX_CHARS; i++) {
+            key = (key << 16) | (i < length ? s.charAt(i) : 0);
+        }
+        return key;
     }
 }
@@ -0,0 +1,1133 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * NavigableMap with String keys stored in an adaptive radix tree (ART), in String.compareTo order.
+ *
+ * - Each char of a key is two bytes (high byte first), which keeps byte order equal to the
+ *   order of String.compareTo. Lookups walk one byte per level, so get, put, remove and the
+ *   ceiling/floor family cost O(key length) whatever the size of the map.
+ * - Inner nodes adapt to their fan-out: up to 4 or 16 children in sorted byte arrays, up to 48
+ *   through a 256-entry index, and a direct 256-slot array beyond that.
+ * - Chains of single-child nodes are collapsed into a byte prefix on the next node (path
+ *   compression), and a subtree with one key is just a leaf (lazy expansion).
+ * - A key that is a prefix of other keys ("Merc" and "Mercedes") is stored at the node where
+ *   it ends, so it sorts before its extensions.
+ *
+ * prefixMap("Merc") returns the live view of every key starting with "Merc"; subMap, headMap,
+ * tailMap and descendingMap are live views as in TreeMap, and navigableKeySet() is a
+ * RadixTreeSet. Iteration steps with higherEntry(), so it needs no stack and tolerates removal
+ * through the iterator. Null keys are not allowed. Like LRUCache this class is not thread-safe.
+ */
+public class RadixTreeMap<V> extends AbstractMap<String, V> implements NavigableMap<String, V> {
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private Object root; // null, a Leaf or a Node
+    private int size;
+    int modCount;
+    private final View<V> all = new View<>(this, null, false, null, false, false);
+
+    // Result of the last insert/delete, set by the recursive helpers.
+    private V previous;
+    private Leaf<V> removed;
+
+    public RadixTreeMap() {
+    }
+
+    public RadixTreeMap(Map<String, ? extends V> source) {
+        putAll(source);
+    }
+
+    // ---------------------------------------------------------------- Map
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getLeaf((String) key) != null;
+    }
+
+    @Override
+    public V get(Object key) {
+        Leaf<V> leaf = getLeaf((String) key);
+        return (leaf == null) ? null : leaf.value;
+    }
+
+    @Override
+    public V put(String key, V value) {
+        Objects.requireNonNull(key, "key");
+        previous = null;
+        root = insert(root, key, 0, value);
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        String k = (String) Objects.requireNonNull(key, "key");
+        removed = null;
+        root = delete(root, k, 0);
+        if (removed == null) return null;
+        size--;
+        modCount++;
+        V value = removed.value;
+        removed = null;
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return all.entrySet();
+    }
+
+    // ---------------------------------------------------------------- NavigableMap, via the full view
+
+    @Override
+    public Comparator<? super String> comparator() {
+        return null;
+    }
+
+    @Override
+    public Map.Entry<String, V> firstEntry() {
+        return all.firstEntry();
+    }
+
+    @Override
+    public Map.Entry<String, V> lastEntry() {
+        return all.lastEntry();
+    }
+
+    @Override
+    public Map.Entry<String, V> pollFirstEntry() {
+        return all.pollFirstEntry();
+    }
+
+    @Override
+    public Map.Entry<String, V> pollLastEntry() {
+        return all.pollLastEntry();
+    }
+
+    @Override
+    public String firstKey() {
+        return all.firstKey();
+    }
+
+    @Override
+    public String lastKey() {
+        return all.lastKey();
+    }
+
+    @Override
+    public Map.Entry<String, V> lowerEntry(String key) {
+        return all.lowerEntry(key);
+    }
+
+    @Override
+    public String lowerKey(String key) {
+        return all.lowerKey(key);
+    }
+
+    @Override
+    public Map.Entry<String, V> floorEntry(String key) {
+        return all.floorEntry(key);
+    }
+
+    @Override
+    public String floorKey(String key) {
+        return all.floorKey(key);
+    }
+
+    @Override
+    public Map.Entry<String, V> ceilingEntry(String key) {
+        return all.ceilingEntry(key);
+    }
+
+    @Override
+    public String ceilingKey(String key) {
+        return all.ceilingKey(key);
+    }
+
+    @Override
+    public Map.Entry<String, V> higherEntry(String key) {
+        return all.higherEntry(key);
+    }
+
+    @Override
+    public String higherKey(String key) {
+        return all.higherKey(key);
+    }
+
+    @Override
+    public NavigableMap<String, V> descendingMap() {
+        return all.descendingMap();
+    }
+
+    @Override
+    public NavigableSet<String> navigableKeySet() {
+        return all.navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<String> descendingKeySet() {
+        return all.descendingKeySet();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    public NavigableMap<String, V> subMap(String fromKey, boolean fromInclusive, String toKey, boolean toInclusive) {
+        return all.subMap(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<String, V> headMap(String toKey, boolean inclusive) {
+        return all.headMap(toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<String, V> tailMap(String fromKey, boolean inclusive) {
+        return all.tailMap(fromKey, inclusive);
+    }
+
+    @Override
+    public SortedMap<String, V> subMap(String fromKey, String toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<String, V> headMap(String toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<String, V> tailMap(String fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    /** Live view of the entries whose key starts with the prefix. */
+    public NavigableMap<String, V> prefixMap(String prefix) {
+        return prefixView(this, prefix);
+    }
+
+    /** The range [prefix, first string after every extension of prefix) of any String-keyed map. */
+    static <T> NavigableMap<String, T> prefixView(NavigableMap<String, T> map, String prefix) {
+        Objects.requireNonNull(prefix, "prefix");
+        // Drop trailing MAX_VALUE chars, then bump the last char: the smallest string above all extensions.
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) end--;
+        if (end == 0) return map.tailMap(prefix, true);
+        String upper = prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+        return map.subMap(prefix, true, upper, false);
+    }
+
+    // ---------------------------------------------------------------- tree operations
+
+    private static int byteAt(String key, int depth) {
+        char c = key.charAt(depth >> 1);
+        return ((depth & 1) == 0) ? (c >>> 8) : (c & 0xff);
+    }
+
+    private static int byteLength(String key) {
+        return key.length() << 1;
+    }
+
+    private static byte[] bytes(String key, int from, int count) {
+        byte[] out = new byte[count];
+        for (int i = 0; i < count; i++) {
+            out[i] = (byte) byteAt(key, from + i);
+        }
+        return out;
+    }
+
+    Leaf<V> getLeaf(String key) {
+        Objects.requireNonNull(key, "key");
+        int length = byteLength(key);
+        int depth = 0;
+        Object n = root;
+        while (n != null) {
+            if (n instanceof Leaf) {
+                Leaf<V> leaf = leaf(n);
+                return leaf.key.equals(key) ? leaf : null;
+            }
+            Node node = (Node) n;
+            byte[] prefix = node.prefix;
+            if (length - depth < prefix.length) return null;
+            for (int i = 0; i < prefix.length; i++) {
+                if (byteAt(key, depth + i) != (prefix[i] & 0xff)) return null;
+            }
+            depth += prefix.length;
+            if (depth == length) return leaf(node.terminal);
+            n = node.find(byteAt(key, depth));
+            depth++;
+        }
+        return null;
+    }
+
+    private Object insert(Object n, String key, int depth, V value) {
+        if (n == null) {
+            added();
+            return new Leaf<>(key, value);
+        }
+        int length = byteLength(key);
+        if (n instanceof Leaf) {
+            Leaf<V> leaf = leaf(n);
+            if (leaf.key.equals(key)) {
+                previous = leaf.value;
+                leaf.value = value;
+                return leaf;
+            }
+            // Two keys share this slot now: a new node holds their common bytes as its prefix.
+            int otherLength = byteLength(leaf.key);
+            int common = 0;
+            while (depth + common < length && depth + common < otherLength
+                    && byteAt(key, depth + common) == byteAt(leaf.key, depth + common)) {
+                common++;
+            }
+            Node node = new ListNode(4);
+            node.prefix = bytes(key, depth, common);
+            place(node, leaf, depth + common);
+            place(node, new Leaf<>(key, value), depth + common);
+            added();
+            return node;
+        }
+
+        Node node = (Node) n;
+        byte[] prefix = node.prefix;
+        int matched = 0;
+        while (matched < prefix.length && depth + matched < length
+                && byteAt(key, depth + matched) == (prefix[matched] & 0xff)) {
+            matched++;
+        }
+        if (matched < prefix.length) {
+            // The key leaves the compressed path part-way: split the prefix at that byte.
+            Node parent = new ListNode(4);
+            parent.prefix = Arrays.copyOf(prefix, matched);
+            node.prefix = Arrays.copyOfRange(prefix, matched + 1, prefix.length);
+            parent.put(prefix[matched] & 0xff, node);
+            place(parent, new Leaf<>(key, value), depth + matched);
+            added();
+            return parent;
+        }
+        depth += prefix.length;
+        if (depth == length) {
+            if (node.terminal == null) {
+                node.terminal = new Leaf<>(key, value);
+                added();
+            } else {
+                Leaf<V> leaf = leaf(node.terminal);
+                previous = leaf.value;
+                leaf.value = value;
+            }
+            return node;
+        }
+        int b = byteAt(key, depth);
+        Object child = node.find(b);
+        Object updated = insert(child, key, depth + 1, value);
+        return (updated == child) ? node : node.put(b, updated);
+    }
+
+    /** Hangs a leaf below a node with room for it: as its terminal if the key ends here, else under its next byte. */
+    private static void place(Node node, Leaf<?> leaf, int depth) {
+        if (byteLength(leaf.key) == depth) {
+            node.terminal = leaf;
+        } else {
+            node.put(byteAt(leaf.key, depth), leaf);
+        }
+    }
+
+    private void added() {
+        size++;
+        modCount++;
+    }
+
+    private Object delete(Object n, String key, int depth) {
+        if (n == null) return null;
+        if (n instanceof Leaf) {
+            Leaf<V> leaf = leaf(n);
+            if (!leaf.key.equals(key)) return leaf;
+            removed = leaf;
+            return null;
+        }
+        Node node = (Node) n;
+        byte[] prefix = node.prefix;
+        int length = byteLength(key);
+        if (length - depth < prefix.length) return node;
+        for (int i = 0; i < prefix.length; i++) {
+            if (byteAt(key, depth + i) != (prefix[i] & 0xff)) return node;
+        }
+        depth += prefix.length;
+        if (depth == length) {
+            if (node.terminal == null) return node;
+            removed = leaf(node.terminal);
+            node.terminal = null;
+            return compact(node);
+        }
+        int b = byteAt(key, depth);
+        Object child = node.find(b);
+        if (child == null) return node;
+        Object updated = delete(child, key, depth + 1);
+        if (updated == child) return node;
+        return compact((updated == null) ? node.remove(b) : node.put(b, updated));
+    }
+
+    /** Restores the invariants after a removal: no empty nodes and no single-child nodes. */
+    private static Object compact(Node node) {
+        if (node.count == 0) return node.terminal;
+        if (node.count > 1 || node.terminal != null) return node;
+        int b = node.next(0);
+        Object child = node.find(b);
+        if (child instanceof Leaf) return child;
+        Node only = (Node) child;
+        byte[] merged = new byte[node.prefix.length + 1 + only.prefix.length];
+        System.arraycopy(node.prefix, 0, merged, 0, node.prefix.length);
+        merged[node.prefix.length] = (byte) b;
+        System.arraycopy(only.prefix, 0, merged, node.prefix.length + 1, only.prefix.length);
+        only.prefix = merged;
+        return only;
+    }
+
+    Leaf<V> firstLeaf() {
+        return first(root);
+    }
+
+    Leaf<V> lastLeaf() {
+        return last(root);
+    }
+
+    /** Smallest entry with key &gt; key, or &gt;= key when inclusive. */
+    Leaf<V> ceilingLeaf(String key, boolean inclusive) {
+        return ceiling(root, key, 0, inclusive);
+    }
+
+    /** Largest entry with key &lt; key, or &lt;= key when inclusive. */
+    Leaf<V> floorLeaf(String key, boolean inclusive) {
+        return floor(root, key, 0, inclusive);
+    }
+
+    private Leaf<V> first(Object n) {
+        while (n instanceof Node) {
+            Node node = (Node) n;
+            if (node.terminal != null) return leaf(node.terminal);
+            n = node.find(node.next(0));
+        }
+        return leaf(n);
+    }
+
+    private Leaf<V> last(Object n) {
+        while (n instanceof Node) {
+            Node node = (Node) n;
+            if (node.count == 0) return leaf(node.terminal);
+            n = node.find(node.prev(255));
+        }
+        return leaf(n);
+    }
+
+    private Leaf<V> ceiling(Object n, String key, int depth, boolean inclusive) {
+        if (n == null) return null;
+        if (n instanceof Leaf) {
+            Leaf<V> leaf = leaf(n);
+            int c = leaf.key.compareTo(key);
+            return (c > 0 || (c == 0 && inclusive)) ? leaf : null;
+        }
+        Node node = (Node) n;
+        byte[] prefix = node.prefix;
+        int length = byteLength(key);
+        for (int i = 0; i < prefix.length; i++) {
+            // The key ends inside the prefix, or is smaller at this byte: the whole subtree is above it.
+            if (depth + i == length) return first(node);
+            int kb = byteAt(key, depth + i);
+            int pb = prefix[i] & 0xff;
+            if (kb < pb) return first(node);
+            if (kb > pb) return null;
+        }
+        depth += prefix.length;
+        if (depth == length) {
+            if (inclusive && node.terminal != null) return leaf(node.terminal);
+            int c = node.next(0);
+            return (c < 0) ? null : first(node.find(c));
+        }
+        int b = byteAt(key, depth);
+        Object child = node.find(b);
+        if (child != null) {
+            Leaf<V> found = ceiling(child, key, depth + 1, inclusive);
+            if (found != null) return found;
+        }
+        int c = (b == 255) ? -1 : node.next(b + 1);
+        return (c < 0) ? null : first(node.find(c));
+    }
+
+    private Leaf<V> floor(Object n, String key, int depth, boolean inclusive) {
+        if (n == null) return null;
+        if (n instanceof Leaf) {
+            Leaf<V> leaf = leaf(n);
+            int c = leaf.key.compareTo(key);
+            return (c < 0 || (c == 0 && inclusive)) ? leaf : null;
+        }
+        Node node = (Node) n;
+        byte[] prefix = node.prefix;
+        int length = byteLength(key);
+        for (int i = 0; i < prefix.length; i++) {
+            if (depth + i == length) return null;
+            int kb = byteAt(key, depth + i);
+            int pb = prefix[i] & 0xff;
+            if (kb > pb) return last(node);
+            if (kb < pb) return null;
+        }
+        depth += prefix.length;
+        if (depth == length) return inclusive ? leaf(node.terminal) : null;
+        int b = byteAt(key, depth);
+        Object child = node.find(b);
+        if (child != null) {
+            Leaf<V> found = floor(child, key, depth + 1, inclusive);
+            if (found != null) return found;
+        }
+        int c = (b == 0) ? -1 : node.prev(b - 1);
+        return (c < 0) ? leaf(node.terminal) : last(node.find(c));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Leaf<V> leaf(Object n) {
+        return (Leaf<V>) n;
+    }
+
+    // ---------------------------------------------------------------- nodes
+
+    /** A stored entry; also what entrySet() iterators hand out, so setValue() writes through. */
+    static final class Leaf<V> implements Map.Entry<String, V> {
+        final String key;
+        V value;
+
+        Leaf(String key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return key.equals(e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Inner node: a compressed path prefix, an optional entry ending here, and children by byte.
+     * put() and remove() return the node to use from now on, which is a different, resized
+     * node when the fan-out crosses a size class.
+     */
+    abstract static class Node {
+        byte[] prefix = NO_BYTES;
+        Leaf<?> terminal;
+        int count;
+
+        /** The child under byte b, or null. */
+        abstract Object find(int b);
+
+        /** Sets or replaces the child under byte b. */
+        abstract Node put(int b, Object child);
+
+        /** Removes the child under byte b, which must exist. */
+        abstract Node remove(int b);
+
+        /** Smallest child byte &gt;= b, or -1. */
+        abstract int next(int b);
+
+        /** Largest child byte &lt;= b, or -1. */
+        abstract int prev(int b);
+
+        <N extends Node> N copyHeaderTo(N other) {
+            other.prefix = prefix;
+            other.terminal = terminal;
+            return other;
+        }
+    }
+
+    /** Node4 and Node16: child bytes kept sorted in a small array, found by a linear scan. */
+    static final class ListNode extends Node {
+        final byte[] keys;
+        final Object[] children;
+
+        ListNode(int capacity) {
+            keys = new byte[capacity];
+            children = new Object[capacity];
+        }
+
+        private int slot(int b) {
+            for (int i = 0; i < count; i++) {
+                if ((keys[i] & 0xff) == b) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int b) {
+            int i = slot(b);
+            return (i < 0) ? null : children[i];
+        }
+
+        @Override
+        Node put(int b, Object child) {
+            int i = slot(b);
+            if (i >= 0) {
+                children[i] = child;
+                return this;
+            }
+            if (count == keys.length) {
+                Node grown = (keys.length == 4) ? new ListNode(16) : new IndexNode();
+                copyHeaderTo(grown);
+                for (int j = 0; j < count; j++) {
+                    grown.put(keys[j] & 0xff, children[j]);
+                }
+                return grown.put(b, child);
+            }
+            int at = count;
+            while (at > 0 && (keys[at - 1] & 0xff) > b) {
+                keys[at] = keys[at - 1];
+                children[at] = children[at - 1];
+                at--;
+            }
+            keys[at] = (byte) b;
+            children[at] = child;
+            count++;
+            return this;
+        }
+
+        @Override
+        Node remove(int b) {
+            int i = slot(b);
+            System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+            System.arraycopy(children, i + 1, children, i, count - i - 1);
+            children[--count] = null;
+            if (keys.length == 16 && count <= 3) {
+                ListNode shrunk = copyHeaderTo(new ListNode(4));
+                for (int j = 0; j < count; j++) {
+                    shrunk.put(keys[j] & 0xff, children[j]);
+                }
+                return shrunk;
+            }
+            return this;
+        }
+
+        @Override
+        int next(int b) {
+            for (int i = 0; i < count; i++) {
+                if ((keys[i] & 0xff) >= b) return keys[i] & 0xff;
+            }
+            return -1;
+        }
+
+        @Override
+        int prev(int b) {
+            for (int i = count - 1; i >= 0; i--) {
+                if ((keys[i] & 0xff) <= b) return keys[i] & 0xff;
+            }
+            return -1;
+        }
+    }
+
+    /** Node48: a 256-entry byte index into 48 child slots. */
+    static final class IndexNode extends Node {
+        final byte[] index = new byte[256]; // slot + 1, 0 = no child
+        final Object[] children = new Object[48];
+
+        @Override
+        Object find(int b) {
+            int slot = index[b];
+            return (slot == 0) ? null : children[slot - 1];
+        }
+
+        @Override
+        Node put(int b, Object child) {
+            int slot = index[b];
+            if (slot != 0) {
+                children[slot - 1] = child;
+                return this;
+            }
+            if (count == children.length) {
+                ArrayNode grown = copyHeaderTo(new ArrayNode());
+                for (int c = 0; c < 256; c++) {
+                    if (index[c] != 0) grown.put(c, children[index[c] - 1]);
+                }
+                return grown.put(b, child);
+            }
+            int free = 0;
+            while (children[free] != null) free++;
+            children[free] = child;
+            index[b] = (byte) (free + 1);
+            count++;
+            return this;
+        }
+
+        @Override
+        Node remove(int b) {
+            children[index[b] - 1] = null;
+            index[b] = 0;
+            count--;
+            if (count <= 12) {
+                ListNode shrunk = copyHeaderTo(new ListNode(16));
+                for (int c = 0; c < 256; c++) {
+                    if (index[c] != 0) shrunk.put(c, children[index[c] - 1]);
+                }
+                return shrunk;
+            }
+            return this;
+        }
+
+        @Override
+        int next(int b) {
+            for (int c = b; c < 256; c++) {
+                if (index[c] != 0) return c;
+            }
+            return -1;
+        }
+
+        @Override
+        int prev(int b) {
+            for (int c = b; c >= 0; c--) {
+                if (index[c] != 0) return c;
+            }
+            return -1;
+        }
+    }
+
+    /** Node256: one slot per possible byte. */
+    static final class ArrayNode extends Node {
+        final Object[] children = new Object[256];
+
+        @Override
+        Object find(int b) {
+            return children[b];
+        }
+
+        @Override
+        Node put(int b, Object child) {
+            if (children[b] == null) count++;
+            children[b] = child;
+            return this;
+        }
+
+        @Override
+        Node remove(int b) {
+            children[b] = null;
+            count--;
+            if (count <= 36) {
+                IndexNode shrunk = copyHeaderTo(new IndexNode());
+                for (int c = 0; c < 256; c++) {
+                    if (children[c] != null) shrunk.put(c, children[c]);
+                }
+                return shrunk;
+            }
+            return this;
+        }
+
+        @Override
+        int next(int b) {
+            for (int c = b; c < 256; c++) {
+                if (children[c] != null) return c;
+            }
+            return -1;
+        }
+
+        @Override
+        int prev(int b) {
+            for (int c = b; c >= 0; c--) {
+                if (children[c] != null) return c;
+            }
+            return -1;
+        }
+    }
+
+    // ---------------------------------------------------------------- views
+
+    /**
+     * A key range of the tree, possibly in descending order. The map itself is the unbounded
+     * ascending view; subMap, headMap, tailMap and descendingMap make narrower ones. lo/hi are
+     * absolute (ascending) bounds, null meaning unbounded.
+     */
+    static final class View<V> extends AbstractMap<String, V> implements NavigableMap<String, V> {
+        private final RadixTreeMap<V> tree;
+        private final String lo;
+        private final boolean loInclusive;
+        private final String hi;
+        private final boolean hiInclusive;
+        private final boolean descending;
+
+        View(RadixTreeMap<V> tree, String lo, boolean loInclusive, String hi, boolean hiInclusive, boolean descending) {
+            this.tree = tree;
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+            this.descending = descending;
+        }
+
+        private boolean tooLow(String key) {
+            if (lo == null) return false;
+            int c = key.compareTo(lo);
+            return c < 0 || (c == 0 && !loInclusive);
+        }
+
+        private boolean tooHigh(String key) {
+            if (hi == null) return false;
+            int c = key.compareTo(hi);
+            return c > 0 || (c == 0 && !hiInclusive);
+        }
+
+        private boolean inRange(String key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        private Leaf<V> absLowest() {
+            Leaf<V> e = (lo == null) ? tree.firstLeaf() : tree.ceilingLeaf(lo, loInclusive);
+            return (e == null || tooHigh(e.key)) ? null : e;
+        }
+
+        private Leaf<V> absHighest() {
+            Leaf<V> e = (hi == null) ? tree.lastLeaf() : tree.floorLeaf(hi, hiInclusive);
+            return (e == null || tooLow(e.key)) ? null : e;
+        }
+
+        private Leaf<V> absCeiling(String key, boolean inclusive) {
+            if (tooLow(key)) return absLowest();
+            Leaf<V> e = tree.ceilingLeaf(key, inclusive);
+            return (e == null || tooHigh(e.key)) ? null : e;
+        }
+
+        private Leaf<V> absFloor(String key, boolean inclusive) {
+            if (tooHigh(key)) return absHighest();
+            Leaf<V> e = tree.floorLeaf(key, inclusive);
+            return (e == null || tooLow(e.key)) ? null : e;
+        }
+
+        private Leaf<V> first() {
+            return descending ? absHighest() : absLowest();
+        }
+
+        private Leaf<V> last() {
+            return descending ? absLowest() : absHighest();
+        }
+
+        private Leaf<V> ceiling(String key) {
+            Objects.requireNonNull(key, "key");
+            return descending ? absFloor(key, true) : absCeiling(key, true);
+        }
+
+        private Leaf<V> higher(String key) {
+            Objects.requireNonNull(key, "key");
+            return descending ? absFloor(key, false) : absCeiling(key, false);
+        }
+
+        private Leaf<V> floor(String key) {
+            Objects.requireNonNull(key, "key");
+            return descending ? absCeiling(key, true) : absFloor(key, true);
+        }
+
+        private Leaf<V> lower(String key) {
+            Objects.requireNonNull(key, "key");
+            return descending ? absCeiling(key, false) : absFloor(key, false);
+        }
+
+        private static <V> Map.Entry<String, V> snapshot(Leaf<V> e) {
+            return (e == null) ? null : new SimpleImmutableEntry<>(e.key, e.value);
+        }
+
+        private static String keyOrNull(Leaf<?> e) {
+            return (e == null) ? null : e.key;
+        }
+
+        private static String keyOrThrow(Leaf<?> e) {
+            if (e == null) throw new NoSuchElementException();
+            return e.key;
+        }
+
+        @Override
+        public int size() {
+            if (lo == null && hi == null) return tree.size();
+            int n = 0;
+            for (Leaf<V> e = first(); e != null; e = higher(e.key)) n++;
+            return n;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return first() == null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            String k = (String) key;
+            return inRange(k) && tree.getLeaf(k) != null;
+        }
+
+        @Override
+        public V get(Object key) {
+            String k = (String) key;
+            if (!inRange(k)) return null;
+            Leaf<V> e = tree.getLeaf(k);
+            return (e == null) ? null : e.value;
+        }
+
+        @Override
+        public V put(String key, V value) {
+            if (!inRange(key)) throw new IllegalArgumentException("key out of range: " + key);
+            return tree.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return inRange((String) key) ? tree.remove(key) : null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, V>> entrySet() {
+            return new AbstractSet<Map.Entry<String, V>>() {
+                @Override
+                public Iterator<Map.Entry<String, V>> iterator() {
+                    return new Iterator<Map.Entry<String, V>>() {
+                        private Leaf<V> next = first();
+                        private Leaf<V> lastReturned;
+                        private int expectedModCount = tree.modCount;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next != null;
+                        }
+
+                        @Override
+                        public Map.Entry<String, V> next() {
+                            if (next == null) throw new NoSuchElementException();
+                            if (tree.modCount != expectedModCount) throw new ConcurrentModificationException();
+                            lastReturned = next;
+                            next = higher(next.key);
+                            return lastReturned;
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (lastReturned == null) throw new IllegalStateException();
+                            if (tree.modCount != expectedModCount) throw new ConcurrentModificationException();
+                            tree.remove(lastReturned.key);
+                            lastReturned = null;
+                            expectedModCount = tree.modCount;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return View.this.size();
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super String> comparator() {
+            return descending ? Comparator.reverseOrder() : null;
+        }
+
+        @Override
+        public Map.Entry<String, V> firstEntry() {
+            return snapshot(first());
+        }
+
+        @Override
+        public Map.Entry<String, V> lastEntry() {
+            return snapshot(last());
+        }
+
+        @Override
+        public Map.Entry<String, V> pollFirstEntry() {
+            Leaf<V> e = first();
+            if (e != null) tree.remove(e.key);
+            return snapshot(e);
+        }
+
+        @Override
+        public Map.Entry<String, V> pollLastEntry() {
+            Leaf<V> e = last();
+            if (e != null) tree.remove(e.key);
+            return snapshot(e);
+        }
+
+        @Override
+        public String firstKey() {
+            return keyOrThrow(first());
+        }
+
+        @Override
+        public String lastKey() {
+            return keyOrThrow(last());
+        }
+
+        @Override
+        public Map.Entry<String, V> lowerEntry(String key) {
+            return snapshot(lower(key));
+        }
+
+        @Override
+        public String lowerKey(String key) {
+            return keyOrNull(lower(key));
+        }
+
+        @Override
+        public Map.Entry<String, V> floorEntry(String key) {
+            return snapshot(floor(key));
+        }
+
+        @Override
+        public String floorKey(String key) {
+            return keyOrNull(floor(key));
+        }
+
+        @Override
+        public Map.Entry<String, V> ceilingEntry(String key) {
+            return snapshot(ceiling(key));
+        }
+
+        @Override
+        public String ceilingKey(String key) {
+            return keyOrNull(ceiling(key));
+        }
+
+        @Override
+        public Map.Entry<String, V> higherEntry(String key) {
+            return snapshot(higher(key));
+        }
+
+        @Override
+        public String higherKey(String key) {
+            return keyOrNull(higher(key));
+        }
+
+        @Override
+        public NavigableMap<String, V> descendingMap() {
+            return new View<>(tree, lo, loInclusive, hi, hiInclusive, !descending);
+        }
+
+        @Override
+        public NavigableSet<String> navigableKeySet() {
+            return new RadixTreeSet(this, false);
+        }
+
+        @Override
+        public NavigableSet<String> descendingKeySet() {
+            return descendingMap().navigableKeySet();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return navigableKeySet();
+        }
+
+        @Override
+        public NavigableMap<String, V> subMap(String fromKey, boolean fromInclusive, String toKey, boolean toInclusive) {
+            Objects.requireNonNull(fromKey, "fromKey");
+            Objects.requireNonNull(toKey, "toKey");
+            return descending
+                    ? range(toKey, toInclusive, fromKey, fromInclusive)
+                    : range(fromKey, fromInclusive, toKey, toInclusive);
+        }
+
+        @Override
+        public NavigableMap<String, V> headMap(String toKey, boolean inclusive) {
+            Objects.requireNonNull(toKey, "toKey");
+            return descending ? range(toKey, inclusive, hi, hiInclusive) : range(lo, loInclusive, toKey, inclusive);
+        }
+
+        @Override
+        public NavigableMap<String, V> tailMap(String fromKey, boolean inclusive) {
+            Objects.requireNonNull(fromKey, "fromKey");
+            return descending ? range(lo, loInclusive, fromKey, inclusive) : range(fromKey, inclusive, hi, hiInclusive);
+        }
+
+        @Override
+        public SortedMap<String, V> subMap(String fromKey, String toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        @Override
+        public SortedMap<String, V> headMap(String toKey) {
+            return headMap(toKey, false);
+        }
+
+        @Override
+        public SortedMap<String, V> tailMap(String fromKey) {
+            return tailMap(fromKey, true);
+        }
+
+        private View<V> range(String newLo, boolean newLoInclusive, String newHi, boolean newHiInclusive) {
+            if (newLo != null && newHi != null && newLo.compareTo(newHi) > 0) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            if (newLo != null && outside(newLo, newLoInclusive)) throw new IllegalArgumentException("key out of range: " + newLo);
+            if (newHi != null && outside(newHi, newHiInclusive)) throw new IllegalArgumentException("key out of range: " + newHi);
+            return new View<>(tree, newLo, newLoInclusive, newHi, newHiInclusive, descending);
+        }
+
+        /** True if a bound lies outside this view, so a sub-view could see keys this one can not. */
+        private boolean outside(String key, boolean inclusive) {
+            if (lo != null) {
+                int c = key.compareTo(lo);
+                if (c < 0 || (c == 0 && !loInclusive && inclusive)) return true;
+            }
+            if (hi != null) {
+                int c = key.compareTo(hi);
+                if (c > 0 || (c == 0 && !hiInclusive && inclusive)) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+
+/**
+ * NavigableSet of Strings kept in an adaptive radix tree; the key set of a RadixTreeMap.
+ *
+ * A drop-in replacement for TreeSet&lt;String&gt;: same order, same live headSet / tailSet /
+ * subSet / descendingSet views, but lookups and ceiling/floor cost O(key length) instead of
+ * O(log n) string comparisons. prefixSet("Merc") is the live view of every element starting
+ * with "Merc".
+ *
+ * <pre>
+ *     RadixTreeSet cars = new RadixTreeSet(List.of("Mercedes", "Mercury", "Mazda"));
+ *     cars.prefixSet("Merc");         // [Mercedes, Mercury]
+ *     cars.headSet("Mercedes");       // [Mazda]
+ * </pre>
+ *
+ * Sets returned by a RadixTreeMap's keySet() support removal but not add(), like any key set.
+ * Null elements are not allowed. Like LRUCache this class is not thread-safe.
+ */
+public class RadixTreeSet extends AbstractSet<String> implements NavigableSet<String> {
+
+    private static final Object PRESENT = Boolean.TRUE;
+
+    private final NavigableMap<String, Object> map;
+    private final boolean addable;
+
+    public RadixTreeSet() {
+        this(new RadixTreeMap<>(), true);
+    }
+
+    public RadixTreeSet(Collection<String> elements) {
+        this();
+        addAll(elements);
+    }
+
+    @SuppressWarnings("unchecked")
+    RadixTreeSet(NavigableMap<String, ?> map, boolean addable) {
+        this.map = (NavigableMap<String, Object>) map;
+        this.addable = addable;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public boolean add(String element) {
+        if (!addable) throw new UnsupportedOperationException();
+        return map.put(element, PRESENT) == null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        // Values of a map's key set may be null, so ask first rather than test remove()'s result.
+        if (!map.containsKey(o)) return false;
+        map.remove(o);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        Iterator<Map.Entry<String, Object>> entries = map.entrySet().iterator();
+        return new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return entries.next().getKey();
+            }
+
+            @Override
+            public void remove() {
+                entries.remove();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<String> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    @Override
+    public Comparator<? super String> comparator() {
+        return map.comparator();
+    }
+
+    @Override
+    public String first() {
+        return map.firstKey();
+    }
+
+    @Override
+    public String last() {
+        return map.lastKey();
+    }
+
+    @Override
+    public String lower(String e) {
+        return map.lowerKey(e);
+    }
+
+    @Override
+    public String floor(String e) {
+        return map.floorKey(e);
+    }
+
+    @Override
+    public String ceiling(String e) {
+        return map.ceilingKey(e);
+    }
+
+    @Override
+    public String higher(String e) {
+        return map.higherKey(e);
+    }
+
+    @Override
+    public String pollFirst() {
+        Map.Entry<String, Object> e = map.pollFirstEntry();
+        return (e == null) ? null : e.getKey();
+    }
+
+    @Override
+    public String pollLast() {
+        Map.Entry<String, Object> e = map.pollLastEntry();
+        return (e == null) ? null : e.getKey();
+    }
+
+    @Override
+    public NavigableSet<String> descendingSet() {
+        return new RadixTreeSet(map.descendingMap(), addable);
+    }
+
+    @Override
+    public NavigableSet<String> subSet(String fromElement, boolean fromInclusive, String toElement, boolean toInclusive) {
+        return new RadixTreeSet(map.subMap(fromElement, fromInclusive, toElement, toInclusive), addable);
+    }
+
+    @Override
+    public NavigableSet<String> headSet(String toElement, boolean inclusive) {
+        return new RadixTreeSet(map.headMap(toElement, inclusive), addable);
+    }
+
+    @Override
+    public NavigableSet<String> tailSet(String fromElement, boolean inclusive) {
+        return new RadixTreeSet(map.tailMap(fromElement, inclusive), addable);
+    }
+
+    @Override
+    public SortedSet<String> subSet(String fromElement, String toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<String> headSet(String toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<String> tailSet(String fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    /** Live view of the elements starting with the prefix. */
+    public NavigableSet<String> prefixSet(String prefix) {
+        return new RadixTreeSet(RadixTreeMap.prefixView(map, prefix), addable);
+    }
+}
@@ -0,0 +1,198 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe map that holds its current contents as a PersistentHashMap in an AtomicReference.
+ *
+ * - snapshot() is one volatile read: the caller gets an immutable version that no later
+ *   write can change, so printing or iterating it needs no lock and no copy.
+ * - Writes build the next version with PersistentHashMap.with/without (O(log32 n) copied
+ *   nodes) and publish it with compareAndSet, retrying if another writer got in first.
+ * - update(fn) applies a whole function to one version, so several keys change atomically.
+ * - Reads, and iteration of the Map views, go through the snapshot taken when they start:
+ *   an iterator sees exactly one version, never a mix of before and after a write.
+ *
+ * Writers retry under contention instead of blocking, so the functions passed to update()
+ * and the compute methods may run more than once and must not have side effects.
+ * As in ConcurrentHashMap, null keys and values are not allowed.
+ *
+ * <pre>
+ *     SnapshotMap&lt;Integer, String&gt; actors = new SnapshotMap&lt;&gt;();
+ *     actors.put(1001, "Tom Hanks");
+ *     Map&lt;Integer, String&gt; view = actors.snapshot();   // stays as it is while others put()
+ * </pre>
+ */
+public class SnapshotMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    private final AtomicReference<PersistentHashMap<K, V>> current;
+
+    public SnapshotMap() {
+        current = new AtomicReference<>(PersistentHashMap.empty());
+    }
+
+    public SnapshotMap(Map<? extends K, ? extends V> initial) {
+        this();
+        putAll(initial);
+    }
+
+    /** The current version; it never changes, whatever happens to this map afterwards. */
+    public PersistentHashMap<K, V> snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Replaces the current version with fn(current), atomically, retrying if another write
+     * lands in between. Returns the version that was installed.
+     */
+    public PersistentHashMap<K, V> update(UnaryOperator<PersistentHashMap<K, V>> fn) {
+        while (true) {
+            PersistentHashMap<K, V> before = current.get();
+            PersistentHashMap<K, V> after = Objects.requireNonNull(fn.apply(before), "update returned null");
+            if (after == before || current.compareAndSet(before, after)) return after;
+        }
+    }
+
+    @Override
+    public int size() {
+        return snapshot().size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return snapshot().containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return snapshot().get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        while (true) {
+            PersistentHashMap<K, V> before = current.get();
+            PersistentHashMap<K, V> after = before.with(key, value);
+            if (after == before || current.compareAndSet(before, after)) return before.get(key);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        while (true) {
+            PersistentHashMap<K, V> before = current.get();
+            V existing = before.get(key);
+            if (existing != null) return existing;
+            if (current.compareAndSet(before, before.with(key, value))) return null;
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        while (true) {
+            PersistentHashMap<K, V> before = current.get();
+            PersistentHashMap<K, V> after = before.without(key);
+            if (after == before || current.compareAndSet(before, after)) return before.get(key);
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        while (true) {
+            PersistentHashMap<K, V> before = current.get();
+            V existing = before.get(key);
+            if (existing == null || !existing.equals(value)) return false;
+            if (current.compareAndSet(before, before.without(key))) return true;
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue, "newValue");
+        while (true) {
+            PersistentHashMap<K, V> before = current.get();
+            V existing = before.get(key);
+            if (existing == null || !existing.equals(oldValue)) return false;
+            if (current.compareAndSet(before, before.with(key, newValue))) return true;
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        while (true) {
+            PersistentHashMap<K, V> before = current.get();
+            V existing = before.get(key);
+            if (existing == null) return null;
+            if (current.compareAndSet(before, before.with(key, value))) return existing;
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> source) {
+        for (Map.Entry<? extends K, ? extends V> e : source.entrySet()) {
+            Objects.requireNonNull(e.getKey(), "key");
+            Objects.requireNonNull(e.getValue(), "value");
+        }
+        update(map -> map.withAll(source));
+    }
+
+    @Override
+    public void clear() {
+        current.set(PersistentHashMap.empty());
+    }
+
+    /** Iterates the version current when iterator() is called; remove() writes through to this map. */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                Iterator<Map.Entry<K, V>> entries = snapshot().entrySet().iterator();
+                return new Iterator<Map.Entry<K, V>>() {
+                    private Map.Entry<K, V> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        last = entries.next();
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) throw new IllegalStateException();
+                        SnapshotMap.this.remove(last.getKey(), last.getValue());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SnapshotMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
@@ -0,0 +1,330 @@
+package com.skillsoft.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Bulk construction of TreeSet and TreeMap without inserting one element at a time.
+ *
+ * - newTreeSet / newTreeMap copy the source. If it is already in the target order (a sorted
+ *   collection with the same comparator, or anything that passes a single left-to-right
+ *   check), the tree is built bottom-up in one linear pass, with no comparisons and no
+ *   rebalancing. Unsorted input is sorted once first, which is still cheaper than n inserts.
+ * - reorder returns the source itself when the order is unchanged, and its descending view
+ *   when only the direction changes. Nothing is copied in either case, but the result is
+ *   a live view: later changes to the source show through.
+ *
+ * The linear build goes through the TreeSet(SortedSet) and TreeMap(SortedMap) constructors,
+ * which are documented to run in linear time and to take their order from the source's
+ * comparator(). The source handed to them is a complete, read-only SortedSet / SortedMap
+ * over the sorted array, range views included, so nothing relies on how the JDK reads it.
+ * Reversal is recognised for comparators made by Collections.reverseOrder,
+ * Comparator.reverseOrder and Comparator.reversed; a hand-written descending lambda is
+ * treated as an unrelated order and copied.
+ */
+public final class SortedCollections {
+
+    private SortedCollections() {
+    }
+
+    /** Returns a new TreeSet with the elements of the source; duplicates keep the first occurrence. */
+    public static <E> TreeSet<E> newTreeSet(Comparator<? super E> comparator, Collection<? extends E> source) {
+        if (source.isEmpty()) return new TreeSet<>(comparator);
+        Object[] elements = source.toArray();
+        int size = elements.length;
+        // A sorted source with this order is already sorted and distinct, so there is nothing to check.
+        if (!(source instanceof SortedSet && sameOrder(((SortedSet<?>) source).comparator(), comparator))) {
+            size = sortDistinct(elements, comparator);
+        }
+        return new TreeSet<>(new SortedArraySet<E>(elements, 0, size, comparator));
+    }
+
+    /**
+     * Returns a new TreeMap with the entries of the source. Keys that are equal under the
+     * comparator collapse like repeated put() calls would: the first key stays with the last value.
+     */
+    public static <K, V> TreeMap<K, V> newTreeMap(Comparator<? super K> comparator, Map<? extends K, ? extends V> source) {
+        if (source.isEmpty()) return new TreeMap<>(comparator);
+        Object[] entries = new Object[source.size()];
+        int n = 0;
+        for (Map.Entry<? extends K, ? extends V> e : source.entrySet()) {
+            entries[n++] = new AbstractMap.SimpleImmutableEntry<>(e.getKey(), e.getValue());
+        }
+
+        int size = n;
+        if (!(source instanceof SortedMap && sameOrder(((SortedMap<?, ?>) source).comparator(), comparator))) {
+            size = sortDistinctEntries(entries, n, comparator);
+        }
+        return new TreeMap<>(new SortedEntryArray<K, V>(entries, 0, size, comparator));
+    }
+
+    /** Returns the set as seen in the given order: itself, its descending view, or a sorted copy. */
+    public static <E> NavigableSet<E> reorder(NavigableSet<E> source, Comparator<? super E> comparator) {
+        if (sameOrder(source.comparator(), comparator)) return source;
+        if (isReverseOf(source.comparator(), comparator)) return source.descendingSet();
+        return newTreeSet(comparator, source);
+    }
+
+    /** Returns the map as seen in the given key order: itself, its descending view, or a sorted copy. */
+    public static <K, V> NavigableMap<K, V> reorder(NavigableMap<K, V> source, Comparator<? super K> comparator) {
+        if (sameOrder(source.comparator(), comparator)) return source;
+        if (isReverseOf(source.comparator(), comparator)) return source.descendingMap();
+        return newTreeMap(comparator, source);
+    }
+
+    // null and Comparator.naturalOrder() both mean natural ordering.
+    private static boolean sameOrder(Comparator<?> a, Comparator<?> b) {
+        Comparator<?> natural = Comparator.naturalOrder();
+        return Objects.equals(a == null ? natural : a, b == null ? natural : b);
+    }
+
+    private static boolean isReverseOf(Comparator<?> source, Comparator<?> target) {
+        return sameOrder(Collections.reverseOrder(source), target);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Comparator<?> comparator, Object a, Object b) {
+        return (comparator == null)
+                ? ((Comparable<Object>) a).compareTo(b)
+                : ((Comparator<Object>) comparator).compare(a, b);
+    }
+
+    /** Sorts (unless already strictly ascending) and drops later duplicates; returns the new length. */
+    @SuppressWarnings("unchecked")
+    private static int sortDistinct(Object[] a, Comparator<?> comparator) {
+        int i = 1;
+        while (i < a.length && compare(comparator, a[i - 1], a[i]) < 0) i++;
+        if (i == a.length) return a.length;
+
+        // Stable sort, so the first of several equal elements is the one that was added first.
+        Arrays.sort(a, (Comparator<Object>) (x, y) -> compare(comparator, x, y));
+        int size = 1;
+        for (int j = 1; j < a.length; j++) {
+            if (compare(comparator, a[size - 1], a[j]) != 0) a[size++] = a[j];
+        }
+        Arrays.fill(a, size, a.length, null);
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int sortDistinctEntries(Object[] a, int n, Comparator<?> comparator) {
+        Comparator<Object> byKey = (x, y) -> compare(comparator, ((Map.Entry<?, ?>) x).getKey(), ((Map.Entry<?, ?>) y).getKey());
+        int i = 1;
+        while (i < n && byKey.compare(a[i - 1], a[i]) < 0) i++;
+        if (i == n) return n;
+
+        Arrays.sort(a, 0, n, byKey);
+        int size = 1;
+        for (int j = 1; j < n; j++) {
+            if (byKey.compare(a[size - 1], a[j]) != 0) {
+                a[size++] = a[j];
+            } else {
+                Map.Entry<?, ?> kept = (Map.Entry<?, ?>) a[size - 1];
+                a[size - 1] = new AbstractMap.SimpleImmutableEntry<>(kept.getKey(), ((Map.Entry<?, ?>) a[j]).getValue());
+            }
+        }
+        Arrays.fill(a, size, n, null);
+        return size;
+    }
+
+    /** Index of the first element in a[from, to) that is not less than key (of the entry's key if byKey). */
+    private static int lowerBound(Object[] a, int from, int to, Object key, Comparator<?> comparator, boolean byKey) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            Object element = byKey ? ((Map.Entry<?, ?>) a[mid]).getKey() : a[mid];
+            if (compare(comparator, element, key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static void checkRange(Comparator<?> comparator, Object from, Object to) {
+        if (compare(comparator, from, to) > 0) throw new IllegalArgumentException("fromKey > toKey");
+    }
+
+    /**
+     * Read-only SortedSet over the sorted, distinct elements a[from, to), handed to the
+     * TreeSet(SortedSet) constructor. Range views are slices of the same array.
+     */
+    private static final class SortedArraySet<E> extends AbstractSet<E> implements SortedSet<E> {
+        private final Object[] elements;
+        private final int from;
+        private final int to;
+        private final Comparator<? super E> comparator;
+
+        SortedArraySet(Object[] elements, int from, int to, Comparator<? super E> comparator) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            int i = lowerBound(elements, from, to, o, comparator, false);
+            return i < to && compare(comparator, elements[i], o) == 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<E> iterator() {
+            return (Iterator<E>) Collections.unmodifiableList(Arrays.asList(elements).subList(from, to)).iterator();
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return comparator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E first() {
+            if (from == to) throw new NoSuchElementException();
+            return (E) elements[from];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E last() {
+            if (from == to) throw new NoSuchElementException();
+            return (E) elements[to - 1];
+        }
+
+        @Override
+        public SortedSet<E> subSet(E fromElement, E toElement) {
+            checkRange(comparator, fromElement, toElement);
+            return new SortedArraySet<>(elements, indexOf(fromElement), indexOf(toElement), comparator);
+        }
+
+        @Override
+        public SortedSet<E> headSet(E toElement) {
+            return new SortedArraySet<>(elements, from, indexOf(toElement), comparator);
+        }
+
+        @Override
+        public SortedSet<E> tailSet(E fromElement) {
+            return new SortedArraySet<>(elements, indexOf(fromElement), to, comparator);
+        }
+
+        private int indexOf(E element) {
+            return lowerBound(elements, from, to, element, comparator, false);
+        }
+    }
+
+    /** Read-only SortedMap over the entries a[from, to), handed to the TreeMap(SortedMap) constructor. */
+    private static final class SortedEntryArray<K, V> extends AbstractMap<K, V> implements SortedMap<K, V> {
+        private final Object[] entries;
+        private final int from;
+        private final int to;
+        private final Comparator<? super K> comparator;
+
+        SortedEntryArray(Object[] entries, int from, int to, Comparator<? super K> comparator) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            int i = find(key);
+            return (i < 0) ? null : ((Map.Entry<K, V>) entries[i]).getValue();
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return (Iterator<Map.Entry<K, V>>) (Iterator<?>) Collections.unmodifiableList(Arrays.asList(entries).subList(from, to)).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return to - from;
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return comparator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K firstKey() {
+            if (from == to) throw new NoSuchElementException();
+            return ((Map.Entry<K, V>) entries[from]).getKey();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K lastKey() {
+            if (from == to) throw new NoSuchElementException();
+            return ((Map.Entry<K, V>) entries[to - 1]).getKey();
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(K fromKey, K toKey) {
+            checkRange(comparator, fromKey, toKey);
+            return new SortedEntryArray<>(entries, indexOf(fromKey), indexOf(toKey), comparator);
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(K toKey) {
+            return new SortedEntryArray<>(entries, from, indexOf(toKey), comparator);
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(K fromKey) {
+            return new SortedEntryArray<>(entries, indexOf(fromKey), to, comparator);
+        }
+
+        private int indexOf(Object key) {
+            return lowerBound(entries, from, to, key, comparator, true);
+        }
+
+        private int find(Object key) {
+            int i = indexOf(key);
+            return (i < to && compare(comparator, ((Map.Entry<?, ?>) entries[i]).getKey(), key) == 0) ? i : -1;
+        }
+    }
+}
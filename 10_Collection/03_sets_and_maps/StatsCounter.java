@@ -0,0 +1,74 @@
+package com.skillsoft.collections;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-safe counters behind CacheStats.
+ *
+ * Every counter is a LongAdder so concurrent readers do not fight over one cache line.
+ * Each recorded operation is also emitted as a CacheOperationEvent when that JFR event
+ * is enabled in the running recording.
+ */
+public final class StatsCounter {
+
+    private final String cacheName;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LatencyHistogram getLatency = new LatencyHistogram();
+    private final LatencyHistogram putLatency = new LatencyHistogram();
+
+    public StatsCounter(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public void recordGet(boolean hit, long nanos) {
+        if (hit) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        getLatency.record(nanos);
+        emit("get", hit, nanos);
+    }
+
+    public void recordPut(long nanos) {
+        putLatency.record(nanos);
+        emit("put", false, nanos);
+    }
+
+    public void recordEviction() {
+        evictionCount.increment();
+    }
+
+    public void recordLoadSuccess(long nanos) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(nanos);
+        emit("load", true, nanos);
+    }
+
+    public void recordLoadFailure(long nanos) {
+        loadFailureCount.increment();
+        totalLoadTime.add(nanos);
+        emit("load", false, nanos);
+    }
+
+    public CacheStats snapshot() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+                loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTime.sum(),
+                getLatency.snapshot(), putLatency.snapshot());
+    }
+
+    private void emit(String operation, boolean hit, long nanos) {
+        CacheOperationEvent event = new CacheOperationEvent();
+        if (!event.isEnabled()) return;
+        event.cache = cacheName;
+        event.operation = operation;
+        event.hit = hit;
+        event.latency = nanos;
+        event.commit();
+    }
+}
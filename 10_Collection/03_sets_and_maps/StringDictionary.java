@@ -0,0 +1,108 @@
+package com.skillsoft.collections;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe two-way mapping between strings and dense int codes (0, 1, 2, ...).
+ *
+ * Meant for categorical fields that repeat a small set of values across many objects,
+ * such as a product category or a movie actor: each object keeps a 4-byte code, and the
+ * dictionary holds the only copy of each distinct string.
+ *
+ * - codeOf() and decode() never lock: a ConcurrentHashMap read and a volatile array read.
+ * - encode() is the same read when the string is known; only a new string takes the lock,
+ *   which happens once per distinct value.
+ * - The dictionary is bounded and codes are never reused or removed. Once maxSize distinct
+ *   strings are encoded, encode() throws IllegalStateException, while tryEncode() returns
+ *   NO_CODE so the caller can keep that string itself. Long-lived shared dictionaries should
+ *   use tryEncode(): a field that turns out not to be categorical then costs one reference
+ *   per object instead of failing once enough distinct values have been seen.
+ *
+ * null is encoded as NULL_CODE (-1), so nullable fields can be stored as codes too.
+ */
+public final class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+    /** Returned by tryEncode() for a string that has no code and no longer fits. */
+    public static final int NO_CODE = -2;
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    // Replaced by a larger copy under the lock; a code is published only after its slot is set.
+    private volatile String[] values = new String[16];
+    private int size;
+
+    public StringDictionary() {
+        this(1 << 20);
+    }
+
+    public StringDictionary(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /** Returns the code of the string, assigning the next free code the first time it is seen. */
+    public int encode(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        if (code != null) return code;
+        return add(value);
+    }
+
+    /**
+     * Like encode(), but returns NO_CODE instead of throwing when the string is new and the
+     * dictionary is full. A string gets the same answer every time: once full, nothing new is added.
+     */
+    public int tryEncode(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        if (code != null) return code;
+        synchronized (this) {
+            if (size == maxSize && !codes.containsKey(value)) return NO_CODE;
+            return add(value);
+        }
+    }
+
+    /** Returns the code of the string, or NULL_CODE if it was never encoded. Never assigns a code. */
+    public int codeOf(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        return (code == null) ? NULL_CODE : code;
+    }
+
+    /** Returns the string for a code returned by encode(), or null for NULL_CODE. */
+    public String decode(int code) {
+        if (code == NULL_CODE) return null;
+        String[] current = values;
+        if (code < 0 || code >= current.length || current[code] == null) {
+            throw new IllegalArgumentException("unknown code: " + code);
+        }
+        return current[code];
+    }
+
+    /** Number of distinct strings encoded so far. */
+    public int size() {
+        return codes.size();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    private synchronized int add(String value) {
+        Integer code = codes.get(value);
+        if (code != null) return code;
+        if (size == maxSize) throw new IllegalStateException("dictionary is full: " + maxSize + " distinct values");
+
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, (int) Math.min((long) size * 2, maxSize));
+            values = current;
+        }
+        current[size] = value;
+        // The map put publishes the slot write: a thread that sees the code also sees the string.
+        codes.put(value, size);
+        return size++;
+    }
+}
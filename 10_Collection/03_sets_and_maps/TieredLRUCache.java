@@ -0,0 +1,105 @@
+package com.skillsoft.collections;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LRUCache with a persistent DiskTier behind it.
+ *
+ * - Entries evicted by removeEldestEntry() are spilled to the disk tier instead of being lost.
+ * - A miss in memory is looked up on disk and, when found, promoted back into memory.
+ * - close() spills the memory contents as well, so a cache reopened on the same directory
+ *   after a restart starts warm: its first gets are served from disk instead of the backend.
+ *
+ * size(), iteration and the Map views only cover the in-memory entries; containsKey()
+ * and get() also consult the disk tier.
+ */
+public class TieredLRUCache extends LRUCache implements Closeable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient DiskTier disk;
+    // Keys promoted from disk and not written since: their disk copy is still current.
+    private final transient Set<Integer> cleanKeys = new HashSet<>();
+
+    public TieredLRUCache(Path directory) throws IOException {
+        this(DiskTier.open(directory));
+    }
+
+    public TieredLRUCache(DiskTier disk) {
+        this.disk = disk;
+    }
+
+    public DiskTier diskTier() {
+        return disk;
+    }
+
+    @Override
+    public String get(Object key) {
+        String value = super.get(key);
+        if (value != null || !(key instanceof Integer)) return value;
+
+        Integer intKey = (Integer) key;
+        value = disk.get(intKey);
+        if (value != null) {
+            super.put(intKey, value);
+            cleanKeys.add(intKey);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return super.containsKey(key) || (key instanceof Integer && disk.containsKey((Integer) key));
+    }
+
+    @Override
+    public String put(Integer key, String value) {
+        cleanKeys.remove(key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        String value = super.remove(key);
+        if (key instanceof Integer) {
+            cleanKeys.remove(key);
+            if (value == null) value = disk.get((Integer) key);
+            disk.remove((Integer) key);
+        }
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        cleanKeys.clear();
+        disk.clear();
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+        boolean evict = super.removeEldestEntry(eldest);
+        if (evict) spill(eldest.getKey(), eldest.getValue());
+        return evict;
+    }
+
+    /** Spills every in-memory entry and flushes the disk tier. */
+    @Override
+    public void close() {
+        for (Map.Entry<Integer, String> e : entrySet()) {
+            spill(e.getKey(), e.getValue());
+        }
+        disk.close();
+    }
+
+    private void spill(Integer key, String value) {
+        // A promoted entry that was never rewritten is already on disk.
+        if (cleanKeys.remove(key) || key == null || value == null) return;
+        disk.put(key, value);
+    }
+}
@@ -0,0 +1,136 @@
+package com.skillsoft.collections;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel that finds expired timers in amortized O(1).
+ *
+ * - Each wheel covers a coarser time span than the previous one (about 1s, 1m, 1h, 1d and 6d per bucket).
+ * - A timer is placed in the finest wheel whose span covers its remaining delay.
+ * - advance() only visits the buckets whose time has passed; timers in those buckets either
+ *   expire or cascade down to a finer wheel, so each timer is touched a bounded number of times.
+ *
+ * Times are ticker nanoseconds that only move forward. Not thread-safe.
+ */
+final class TimerWheel {
+
+    /** Intrusive list node; the cache entry itself extends this so scheduling allocates nothing. */
+    static class Timer {
+        long time;
+        Timer prev;
+        Timer next;
+
+        boolean isScheduled() {
+            return prev != null;
+        }
+    }
+
+    private static final int[] BUCKETS = { 64, 64, 32, 4, 1 };
+    private static final long[] SPANS = {
+        1L << 30,   // 1.07 seconds
+        1L << 36,   // 1.14 minutes
+        1L << 42,   // 1.22 hours
+        1L << 47,   // 1.63 days
+        1L << 49,   // 6.5 days
+        1L << 49,   // 6.5 days, the last wheel keeps everything further away
+    };
+    private static final int[] SHIFT = new int[SPANS.length];
+
+    static {
+        for (int i = 0; i < SPANS.length; i++) {
+            SHIFT[i] = Long.numberOfTrailingZeros(SPANS[i]);
+        }
+    }
+
+    private final Timer[][] wheel;
+    private long nanos;
+
+    TimerWheel(long now) {
+        this.nanos = now;
+        this.wheel = new Timer[BUCKETS.length][];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Timer[BUCKETS[i]];
+            for (int j = 0; j < wheel[i].length; j++) {
+                Timer sentinel = new Timer();
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                wheel[i][j] = sentinel;
+            }
+        }
+    }
+
+    /** Adds the timer, or moves it if it is already scheduled. */
+    void schedule(Timer timer) {
+        if (timer.isScheduled()) unlink(timer);
+        link(findBucket(timer.time), timer);
+    }
+
+    void deschedule(Timer timer) {
+        if (timer.isScheduled()) unlink(timer);
+    }
+
+    /** Moves the wheel to the given time and passes every timer due by then to onExpire. */
+    void advance(long now, Consumer<Timer> onExpire) {
+        long previous = nanos;
+        if (now <= previous) return;
+        nanos = now;
+        for (int i = 0; i < SHIFT.length - 1; i++) {
+            long previousTicks = previous >>> SHIFT[i];
+            long currentTicks = now >>> SHIFT[i];
+            if (currentTicks - previousTicks <= 0) break;
+            expire(i, previousTicks, currentTicks - previousTicks, onExpire);
+        }
+    }
+
+    private void expire(int index, long previousTicks, long delta, Consumer<Timer> onExpire) {
+        Timer[] buckets = wheel[index];
+        int mask = buckets.length - 1;
+        // Include the bucket we were in, since timers there may have become due in the meantime.
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Timer sentinel = buckets[i & mask];
+            Timer timer = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            while (timer != sentinel) {
+                Timer following = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                if (timer.time - nanos <= 0) {
+                    onExpire.accept(timer);
+                } else {
+                    link(findBucket(timer.time), timer);
+                }
+                timer = following;
+            }
+        }
+    }
+
+    private Timer findBucket(long time) {
+        long duration = time - nanos;
+        int last = wheel.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[last][0];
+    }
+
+    private static void link(Timer sentinel, Timer timer) {
+        timer.prev = sentinel.prev;
+        timer.next = sentinel;
+        sentinel.prev.next = timer;
+        sentinel.prev = timer;
+    }
+
+    private static void unlink(Timer timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillsoft.collections.benchmarks;
+
+import com.skillsoft.collections.BloomFilteredSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * contains() on a large HashSet&lt;String&gt;, plain and behind a BloomFilteredSet, for a probe mix
+ * where hitPercent of the lookups are present. Keys are random hex strings, so neither table
+ * gets cache locality from similar hash codes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BloomFilteredSetBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({ "10000", "1000000" })
+    public int size;
+
+    @Param({ "0", "10", "90" })
+    public int hitPercent;
+
+    private Set<String> hashSet;
+    private BloomFilteredSet<String> bloomSet;
+    private String[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] members = new String[size];
+        hashSet = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            members[i] = Long.toHexString(random.nextLong());
+            hashSet.add(members[i]);
+        }
+        bloomSet = new BloomFilteredSet<>(new HashSet<>(hashSet));
+        probes = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = (random.nextInt(100) < hitPercent)
+                    ? members[random.nextInt(size)]
+                    : "x" + Long.toHexString(random.nextLong());
+            probes[i].hashCode();
+        }
+    }
+
+    @Benchmark
+    public boolean hashSet() {
+        return hashSet.contains(probes[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean bloomFilteredSet() {
+        return bloomSet.contains(probes[next++ & (PROBES - 1)]);
+    }
+}
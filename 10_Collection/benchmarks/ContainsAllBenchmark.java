@@ -0,0 +1,67 @@
+package com.skillsoft.collections.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArrayList.containsAll as used with the cities lists in CollectionsParameterized:
+ * every element of the probe list is found by a linear indexOf scan.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContainsAllBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    @Param({ "3", "100" })
+    public int probes;
+
+    private List<String> cities;
+    private List<String> present;
+    private List<String> absent;
+
+    @Setup
+    public void setUp() {
+        cities = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            cities.add("City " + i);
+        }
+        present = new ArrayList<>();
+        absent = new ArrayList<>();
+        for (int i = 0; i < probes; i++) {
+            // Spread the present probes over the list so the scans do not all stop early.
+            present.add("City " + (int) ((long) i * size / probes));
+            absent.add("Town " + i);
+        }
+        // The first probe is the last city, so a miss costs a full scan after a full-length hit.
+        absent.set(0, "City " + (size - 1));
+    }
+
+    @Benchmark
+    public boolean allPresent() {
+        return cities.containsAll(present);
+    }
+
+    @Benchmark
+    public boolean missing() {
+        return cities.containsAll(absent);
+    }
+}
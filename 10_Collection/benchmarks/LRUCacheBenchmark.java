@@ -0,0 +1,78 @@
+package com.skillsoft.collections.benchmarks;
+
+import com.skillsoft.collections.BoundedLRUCache;
+import com.skillsoft.collections.ConcurrentLRUCache;
+import com.skillsoft.collections.LRUCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through access pattern against the 5-entry LRUCache from MapMain and its variants.
+ *
+ * Each operation does a get() and, on a miss, a put() that evicts the eldest entry.
+ * hitPercent controls the mix: 90 is hit-heavy, 10 is miss-heavy.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LRUCacheBenchmark {
+
+    private static final int CAPACITY = 5;
+    private static final int KEY_MASK = 4095;
+
+    @Param({ "LRUCache", "ConcurrentLRUCache", "BoundedLRUCache" })
+    public String impl;
+
+    @Param({ "90", "10" })
+    public int hitPercent;
+
+    private Map<Integer, String> cache;
+    private Integer[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        switch (impl) {
+            case "LRUCache": cache = new LRUCache(); break;
+            case "ConcurrentLRUCache": cache = new ConcurrentLRUCache<>(CAPACITY); break;
+            case "BoundedLRUCache": cache = BoundedLRUCache.<Integer, String>newBuilder().maximumSize(CAPACITY).build(); break;
+            default: throw new IllegalArgumentException(impl);
+        }
+        Random random = new Random(42);
+        keys = new Integer[KEY_MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            // Hot keys fit in the cache; cold keys come from a range far larger than it.
+            keys[i] = (random.nextInt(100) < hitPercent) ? random.nextInt(CAPACITY) : 1000 + random.nextInt(1_000_000);
+        }
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.put(i, "Movie " + i);
+        }
+    }
+
+    @Benchmark
+    public String readThrough() {
+        Integer key = keys[next++ & KEY_MASK];
+        String value = cache.get(key);
+        if (value == null) {
+            value = "Loaded";
+            cache.put(key, value);
+        }
+        return value;
+    }
+}
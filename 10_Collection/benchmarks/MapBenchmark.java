@@ -0,0 +1,86 @@
+package com.skillsoft.collections.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashMap vs LinkedHashMap vs TreeMap with the Integer -> String mappings used in MapMain.
+ *
+ * - get: lookup of a random key that is present
+ * - put: overwrite of a random key that is present (no resizing)
+ * - iterate: walk of the whole entrySet
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapBenchmark {
+
+    private static final int KEY_MASK = 1023;
+
+    @Param({ "HashMap", "LinkedHashMap", "TreeMap" })
+    public String impl;
+
+    @Param({ "100", "10000", "1000000" })
+    public int size;
+
+    private Map<Integer, String> map;
+    private Integer[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        switch (impl) {
+            case "HashMap": map = new HashMap<>(); break;
+            case "LinkedHashMap": map = new LinkedHashMap<>(); break;
+            case "TreeMap": map = new TreeMap<>(); break;
+            default: throw new IllegalArgumentException(impl);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            map.put(1000 + i, "Movie " + i);
+        }
+        // Pre-boxed random keys, so the benchmark measures the map rather than Integer.valueOf.
+        keys = new Integer[KEY_MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 1000 + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return map.get(keys[next++ & KEY_MASK]);
+    }
+
+    @Benchmark
+    public String put() {
+        return map.put(keys[next++ & KEY_MASK], "Updated");
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Map.Entry<Integer, String> e : map.entrySet()) {
+            sum += e.getKey() + e.getValue().length();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,100 @@
+package com.skillsoft.collections.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range queries under contention: Collections.synchronizedSortedMap(TreeMap) vs ConcurrentSkipListMap.
+ *
+ * Each operation is either a put of a random key (writePercent) or a subMap scan over
+ * scanWidth consecutive keys. The synchronized map has to hold its lock for the whole scan,
+ * as its Javadoc requires; the skip list scans its weakly consistent view without locking.
+ *
+ * Run once per thread count, e.g. for t in 1 2 4 8 16 32 64; do ... -t $t; done
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NavigableMapContentionBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    @Param({ "synchronizedTreeMap", "ConcurrentSkipListMap" })
+    public String impl;
+
+    @Param({ "10", "50" })
+    public int writePercent;
+
+    @Param({ "100" })
+    public int scanWidth;
+
+    private SortedMap<Integer, String> map;
+    private boolean synchronizedScan;
+
+    @Setup
+    public void setUp() {
+        NavigableMap<Integer, String> backing;
+        switch (impl) {
+            case "synchronizedTreeMap":
+                backing = new TreeMap<>();
+                map = Collections.synchronizedSortedMap(backing);
+                synchronizedScan = true;
+                break;
+            case "ConcurrentSkipListMap":
+                backing = new ConcurrentSkipListMap<>();
+                map = backing;
+                break;
+            default:
+                throw new IllegalArgumentException(impl);
+        }
+        for (int i = 0; i < KEYS; i += 2) {
+            map.put(i, "Employee " + i);
+        }
+    }
+
+    @Benchmark
+    public long mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(KEYS);
+        if (random.nextInt(100) < writePercent) {
+            map.put(key, "Employee " + key);
+            return key;
+        }
+        SortedMap<Integer, String> range = map.subMap(key, key + scanWidth);
+        if (synchronizedScan) {
+            synchronized (map) {
+                return scan(range);
+            }
+        }
+        return scan(range);
+    }
+
+    private static long scan(SortedMap<Integer, String> range) {
+        long sum = 0;
+        for (Map.Entry<Integer, String> e : range.entrySet()) {
+            sum += e.getKey();
+        }
+        return sum;
+    }
+}
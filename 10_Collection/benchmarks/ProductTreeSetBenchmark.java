@@ -0,0 +1,112 @@
+package com.skillsoft.collections.benchmarks;
+
+import com.skillsoft.collections.Product;
+import com.skillsoft.collections.SortedCollections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a TreeSet&lt;Product&gt; from shuffled products through Product.compareTo, through
+ * Product.KEY_ORDER, and through an explicit Comparator written like the anonymous one in sets Main.
+ * The rebuild* cases copy an already sorted set into a new one, once with addAll and once with
+ * SortedCollections.newTreeSet, which builds the tree in a single linear pass.
+ *
+ * names=shared gives every product a "Product-" name, so the precomputed prefix keys always
+ * tie and the full strings decide; names=varied uses random leading characters, so the prefix
+ * keys decide almost every comparison.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductTreeSetBenchmark {
+
+    private static final String[] CATEGORIES = { "Mobiles", "Electronics", "Apparel", "Accessories", "Books" };
+
+    private static final Comparator<Product> PRODUCT_COMPARATOR = new Comparator<Product>() {
+        @Override
+        public int compare(Product o1, Product o2) {
+            int compareName = o1.getName().compareTo(o2.getName());
+            if (compareName != 0) return compareName;
+            return o1.getCategory().compareTo(o2.getCategory());
+        }
+    };
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    @Param({ "shared", "varied" })
+    public String names;
+
+    private Product[] products;
+    private TreeSet<Product> sorted;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        products = new Product[size];
+        for (int i = 0; i < size; i++) {
+            String name = names.equals("shared") ? "Product-" + random.nextInt(size * 4) : randomName(random);
+            products[i] = new Product(name, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        }
+        sorted = comparable();
+    }
+
+    // Capitalised word of 4 to 11 random letters, e.g. "Qbtrwe".
+    private static String randomName(Random random) {
+        int length = 4 + random.nextInt(8);
+        StringBuilder sb = new StringBuilder(length);
+        sb.append((char) ('A' + random.nextInt(26)));
+        for (int i = 1; i < length; i++) sb.append((char) ('a' + random.nextInt(26)));
+        return sb.toString();
+    }
+
+    @Benchmark
+    public TreeSet<Product> comparable() {
+        TreeSet<Product> set = new TreeSet<>();
+        for (Product p : products) set.add(p);
+        return set;
+    }
+
+    @Benchmark
+    public TreeSet<Product> keyOrder() {
+        TreeSet<Product> set = new TreeSet<>(Product.KEY_ORDER);
+        for (Product p : products) set.add(p);
+        return set;
+    }
+
+    @Benchmark
+    public TreeSet<Product> explicitComparator() {
+        TreeSet<Product> set = new TreeSet<>(PRODUCT_COMPARATOR);
+        for (Product p : products) set.add(p);
+        return set;
+    }
+
+    @Benchmark
+    public TreeSet<Product> rebuildAddAll() {
+        TreeSet<Product> set = new TreeSet<>(PRODUCT_COMPARATOR);
+        set.addAll(sorted);
+        return set;
+    }
+
+    @Benchmark
+    public TreeSet<Product> rebuildBulk() {
+        return SortedCollections.newTreeSet(PRODUCT_COMPARATOR, sorted);
+    }
+}
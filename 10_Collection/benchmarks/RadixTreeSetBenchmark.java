@@ -0,0 +1,83 @@
+package com.skillsoft.collections.benchmarks;
+
+import com.skillsoft.collections.RadixTreeSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ceiling() lookups and a short prefix scan on a TreeSet&lt;String&gt; vs a RadixTreeSet holding
+ * the same keys. Keys share long common prefixes ("model-" plus a number), the case where a
+ * red-black tree compares the same leading chars at every level.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RadixTreeSetBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({ "10000", "1000000" })
+    public int size;
+
+    private NavigableSet<String> treeSet;
+    private RadixTreeSet radixSet;
+    private String[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        treeSet = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            treeSet.add("model-" + random.nextInt(Integer.MAX_VALUE));
+        }
+        radixSet = new RadixTreeSet(treeSet);
+        probes = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = "model-" + random.nextInt(Integer.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public String treeSetCeiling() {
+        return treeSet.ceiling(probes[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public String radixSetCeiling() {
+        return radixSet.ceiling(probes[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public int treeSetPrefixScan() {
+        String prefix = probes[next++ & (PROBES - 1)].substring(0, 9);
+        int n = 0;
+        for (String s : treeSet.subSet(prefix, prefix + Character.MAX_VALUE)) n += s.length();
+        return n;
+    }
+
+    @Benchmark
+    public int radixSetPrefixScan() {
+        String prefix = probes[next++ & (PROBES - 1)].substring(0, 9);
+        int n = 0;
+        for (String s : radixSet.prefixSet(prefix)) n += s.length();
+        return n;
+    }
+}